@@ -0,0 +1,164 @@
+package com.example.spring_study.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers successful HTTP Basic authentications for a short time so clients that send Basic
+ * credentials on every call do not pay for a BCrypt check each time. Entries are keyed by an
+ * HMAC-SHA256 of the user name and password under a random key generated at startup, so neither
+ * the password nor a digest usable outside this process is kept. Failed attempts are never cached
+ * and changes to an employee evict its entries through {@link #invalidate(String)}. Like
+ * {@link UserDetailsCache}, a miss puts a pending marker before it asks the delegate and only swaps
+ * in the result if the marker is still there, so an authentication that raced with an
+ * invalidation is not cached.
+ */
+@Component
+public class BasicCredentialCache {
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final Map<String, Cached> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BasicCredentialCache(@Value("${app.security.basic-cache.enabled:false}") boolean enabled,
+                                @Value("${app.security.basic-cache.ttl-ms:30000}") long ttlMs,
+                                @Value("${app.security.basic-cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.maxEntries = maxEntries;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a cached authentication for the same user name and password, or asks
+     * {@code delegate} and caches the result when it succeeds.
+     */
+    public Authentication authenticate(Authentication request, AuthenticationManager delegate) {
+        if (!(request instanceof UsernamePasswordAuthenticationToken)
+                || !(request.getCredentials() instanceof String password)) {
+            return delegate.authenticate(request);
+        }
+
+        String userName = request.getName();
+        String digest = digest(userName, password);
+        long now = System.nanoTime();
+        Cached cached = entries.get(digest);
+        if (cached != null && cached.authentication() != null && now - cached.cachedAt() < ttlNanos) {
+            hits.incrementAndGet();
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    cached.principal(), null, cached.authentication().getAuthorities());
+            result.setDetails(request.getDetails());
+            return result;
+        }
+
+        misses.incrementAndGet();
+        if (entries.size() >= maxEntries && !entries.containsKey(digest)) {
+            makeRoom(now);
+        }
+        Cached pending = new Cached(userName, null, null, now);
+        entries.put(digest, pending);
+        Authentication authentication;
+        try {
+            authentication = delegate.authenticate(request);
+        } catch (RuntimeException e) {
+            entries.remove(digest, pending);
+            throw e;
+        }
+        if (authentication != null && authentication.isAuthenticated()) {
+            entries.replace(digest, pending, new Cached(userName, authentication.getPrincipal(), authentication, now));
+        } else {
+            entries.remove(digest, pending);
+        }
+        return authentication;
+    }
+
+    public void invalidate(String userName) {
+        if (userName != null) {
+            entries.values().removeIf(cached -> cached.userName().equals(userName));
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Sweeps expired entries when the last sweep is a ttl old; if that frees nothing, evicts one entry
+    private void makeRoom(long now) {
+        long last = lastSweep.get();
+        if (now - last >= ttlNanos && lastSweep.compareAndSet(last, now)) {
+            int before = entries.size();
+            entries.values().removeIf(cached -> now - cached.cachedAt() >= ttlNanos);
+            evictions.addAndGet(Math.max(0, before - entries.size()));
+        }
+        if (entries.size() >= maxEntries) {
+            Iterator<String> digests = entries.keySet().iterator();
+            if (digests.hasNext() && entries.remove(digests.next()) != null) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private String digest(String userName, String password) {
+        Mac mac = macs.get();
+        mac.update(userName.getBytes(StandardCharsets.UTF_8));
+        // Separator keeps ("ab", "c") and ("a", "bc") apart
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // authentication is null while the entry is a pending marker
+    private record Cached(String userName, Object principal, Authentication authentication, long cachedAt) {
+    }
+}
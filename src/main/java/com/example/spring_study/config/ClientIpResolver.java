@@ -0,0 +1,20 @@
+package com.example.spring_study.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Client address of a request as seen by the audit log and the login throttle: the
+ * {@code X-Forwarded-For} header when a proxy set it, otherwise the remote address.
+ */
+public final class ClientIpResolver {
+    private ClientIpResolver() {
+    }
+
+    public static String resolve(HttpServletRequest request) {
+        String ipAddress = request.getHeader("X-Forwarded-For");
+        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
+            ipAddress = request.getRemoteAddr();
+        }
+        return ipAddress;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.constant.IdSequence;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the entity tables from identity columns to the sequences declared in {@link IdSequence}.
+ * A table still on its identity column (or without a default) gets the identity dropped, a
+ * {@code nextval} default for plain SQL inserts, and its sequence advanced past the highest existing
+ * id, so the ids already handed out stay as they are. Runs once the schema update is done and before
+ * the application takes requests; a table that cannot be converted stops the startup, as Hibernate
+ * would otherwise hand out ids that are already taken.
+ */
+@Component
+public class IdSequenceMigration {
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceMigration.class);
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "borrowing", IdSequence.BORROWING,
+            "device", IdSequence.DEVICE,
+            "employee", IdSequence.EMPLOYEE,
+            "roles", IdSequence.ROLE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // The EntityManagerFactory is only injected so the schema update has run before the migration
+    public IdSequenceMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        SEQUENCES.forEach((table, sequence) -> transactionTemplate.executeWithoutResult(status -> migrate(table, sequence)));
+    }
+
+    private void migrate(String table, String sequence) {
+        List<Map<String, Object>> columns = jdbcTemplate.queryForList("SELECT is_identity, column_default " +
+                "FROM information_schema.columns WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'id'", table);
+        if (columns.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " INCREMENT BY " + IdSequence.ALLOCATION_SIZE);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + IdSequence.ALLOCATION_SIZE);
+        String expectedDefault = "nextval('" + sequence + "'::regclass)";
+        if ("NO".equals(columns.get(0).get("is_identity")) && expectedDefault.equals(columns.get(0).get("column_default"))) {
+            return;
+        }
+
+        // Keeps other instances from inserting between reading MAX(id) and moving the sequence
+        jdbcTemplate.execute("LOCK TABLE " + table + " IN EXCLUSIVE MODE");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+        // With the pooled optimizer the next nextval reserves the block right after this value
+        Long last = jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST(" +
+                "COALESCE((SELECT MAX(id) FROM " + table + "), 0), (SELECT last_value FROM " + sequence + ")))", Long.class);
+        logger.info("Moved {}.id to sequence {}, ids continue after {}", table, sequence, last);
+    }
+}
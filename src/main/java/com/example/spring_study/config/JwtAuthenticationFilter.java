@@ -5,15 +5,17 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 
 @Component
@@ -21,11 +23,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private JwtTokenProvider jwtTokenProvider;
 
-    private UserDetailsService userDetailsService;
+    private UserDetailsCache userDetailsCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    private TokenRevocationList tokenRevocationList;
+
+    private RoleRegistry roleRegistry;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsCache userDetailsCache,
+                                   TokenVersionRegistry tokenVersionRegistry, JwtTokenVerifier jwtTokenVerifier,
+                                   TokenRevocationList tokenRevocationList, RoleRegistry roleRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.jwtTokenVerifier = jwtTokenVerifier;
+        this.tokenRevocationList = tokenRevocationList;
+        this.roleRegistry = roleRegistry;
     }
 
     @Override
@@ -37,11 +53,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = getTokenFromRequest(request);
 
         // Validate Token
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            // get username from token
-            String username = jwtTokenProvider.getUsername(token);
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (StringUtils.hasText(token)) {
+            // Verifies the signature and expiry and reads the claims in a single parse
+            JwtTokenVerifier.VerifiedToken verifiedToken = jwtTokenVerifier.verify(token);
+            UserDetails userDetails = tokenRevocationList.isRevoked(verifiedToken.id()) ? null : resolveUser(verifiedToken);
+            if (userDetails == null) {
+                // Revoked token or token of an older version of the employee; the request continues unauthenticated
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                     userDetails,
@@ -57,7 +77,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getTokenFromRequest(HttpServletRequest request) {
+    private UserDetails resolveUser(JwtTokenVerifier.VerifiedToken token) {
+        if (jwtTokenProvider.isSelfContained() && token.version() != null && token.roles() != null) {
+            // Self-contained token: authorities come from the verified claims, no database lookup
+            Integer currentVersion = tokenVersionRegistry.get(token.subject());
+            if (currentVersion == null || currentVersion.intValue() != token.version()) {
+                return null;
+            }
+            List<GrantedAuthority> authorities = token.roles().stream()
+                    .map(roleRegistry::authority)
+                    .toList();
+            return new User(token.subject(), "", authorities);
+        }
+
+        return userDetailsCache.get(token.subject());
+    }
+
+    public static String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
 
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
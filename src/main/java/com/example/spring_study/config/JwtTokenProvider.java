@@ -1,25 +1,37 @@
 package com.example.spring_study.config;
 
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
-
-    @Value("${app.jwt-secret}")
-    private String jwtSecret;
+    public static final String ROLES_CLAIM = "roles";
+    public static final String VERSION_CLAIM = "ver";
 
     @Value("${app.jwt-expiration-milliseconds}")
     private long jwtExpirationDate;
 
+    // Embed authorities and the token version so requests can be authenticated from the token alone
+    @Value("${app.jwt.self-contained:false}")
+    private boolean selfContained;
+
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    private final JwtTokenVerifier tokenVerifier;
+
+    public JwtTokenProvider(TokenVersionRegistry tokenVersionRegistry, JwtTokenVerifier tokenVerifier) {
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.tokenVerifier = tokenVerifier;
+    }
+
     // generate JWT token
     public String generateToken(Authentication authentication) {
 
@@ -29,36 +41,36 @@ public class JwtTokenProvider {
 
         Date expireDate = new Date(currentDate.getTime() + jwtExpirationDate);
 
-        return Jwts.builder()
+        // The id lets a single token be revoked before it expires
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(new Date())
-                .expiration(expireDate)
-                .signWith(key())
-                .compact();
-    }
+                .expiration(expireDate);
+
+        Integer version = tokenVersionRegistry.get(username);
+        if (selfContained && version != null) {
+            List<String> roles = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList();
+            builder.claim(ROLES_CLAIM, roles).claim(VERSION_CLAIM, version);
+        }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        return builder.signWith(tokenVerifier.getKey()).compact();
     }
 
     // get username from JWT token
     public String getUsername(String token) {
+        return tokenVerifier.verify(token).subject();
+    }
 
-        return Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    public boolean isSelfContained() {
+        return selfContained;
     }
 
     // validate JWT token
     public boolean validateToken(String token) {
-        Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build()
-                .parse(token);
+        tokenVerifier.verify(token);
         return true;
-
     }
 }
@@ -0,0 +1,136 @@
+package com.example.spring_study.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies JWTs with a key and parser built once at startup, parsing each token a single time into
+ * a {@link VerifiedToken}. Recently verified tokens are remembered by their SHA-256 digest until
+ * they expire, so a client repeating the same token skips signature checking and JSON parsing.
+ * Raw tokens are never kept in memory.
+ */
+@Component
+public class JwtTokenVerifier {
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final int maxEntries;
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public JwtTokenVerifier(@Value("${app.jwt-secret}") String jwtSecret,
+                            @Value("${app.jwt.verified-cache.max-entries:10000}") int maxEntries) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verified.get(digest);
+        if (cached != null) {
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            verified.remove(digest);
+        }
+
+        misses.incrementAndGet();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        List<?> roles = claims.get(JwtTokenProvider.ROLES_CLAIM, List.class);
+        Date expiration = claims.getExpiration();
+        VerifiedToken result = new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                roles != null ? roles.stream().map(Object::toString).toList() : null,
+                claims.get(JwtTokenProvider.VERSION_CLAIM, Integer.class),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+
+        // Tokens without an expiry are verified again every time instead of being cached forever;
+        // a max-entries of 0 turns the cache off
+        if (expiration != null && maxEntries > 0) {
+            if (verified.size() >= maxEntries) {
+                makeRoom();
+            }
+            verified.put(digest, result);
+        }
+        return result;
+    }
+
+    SecretKey getKey() {
+        return key;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public int size() {
+        return verified.size();
+    }
+
+    // Drops expired tokens first; if none have expired, drops whichever comes first in the map
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        int before = verified.size();
+        verified.values().removeIf(token -> token.expiresAt() <= now);
+        if (verified.size() >= maxEntries) {
+            Iterator<String> digests = verified.keySet().iterator();
+            if (digests.hasNext()) {
+                digests.next();
+                digests.remove();
+            }
+        }
+        evictions.addAndGet(Math.max(0, before - verified.size()));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Claims of a token whose signature has been checked.
+     *
+     * @param id      jti of the token, {@code null} for tokens issued before ids were added
+     * @param roles   authorities of a self-contained token, otherwise {@code null}
+     * @param version employee token version of a self-contained token, otherwise {@code null}
+     */
+    public record VerifiedToken(String id, String subject, List<String> roles, Integer version, long expiresAt) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.exception.LoginThrottledException;
+import com.example.spring_study.model.payload.LoginThrottleStatsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for login attempts, one per user name and one per client address. Each bucket is a
+ * single {@link AtomicLong} holding the time at which it will be full again (the GCRA form of a
+ * token bucket), so taking a token is one CAS and refilling needs no background work. A bucket
+ * that is full again is indistinguishable from a new one and is dropped by the sweep, which keeps
+ * memory proportional to recent attempts; {@code maxEntries} caps it outright. Only buckets that are
+ * full again are ever dropped: when the table is full of live ones, new keys share one overflow
+ * bucket, so spraying names or addresses can not reset the bucket of the one under attack. A new key
+ * on a full table sweeps at most once per refill interval, so a spray can not turn every attempt
+ * into a scan of the whole table.
+ */
+@Component
+public class LoginThrottle {
+    private final Map<String, AtomicLong> users = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> addresses = new ConcurrentHashMap<>();
+    private final AtomicLong userOverflow;
+    private final AtomicLong addressOverflow;
+    private final int userCapacity;
+    private final long userIntervalMs;
+    private final int addressCapacity;
+    private final long addressIntervalMs;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final long minSweepIntervalMs;
+    private final AtomicLong lastSweep;
+
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong rejectedByUser = new AtomicLong();
+    private final AtomicLong rejectedByAddress = new AtomicLong();
+
+    @Autowired
+    public LoginThrottle(@Value("${app.security.login-throttle.user.capacity:5}") int userCapacity,
+                         @Value("${app.security.login-throttle.user.refill-ms:12000}") long userIntervalMs,
+                         @Value("${app.security.login-throttle.address.capacity:20}") int addressCapacity,
+                         @Value("${app.security.login-throttle.address.refill-ms:3000}") long addressIntervalMs,
+                         @Value("${app.security.login-throttle.max-entries:100000}") int maxEntries) {
+        this(userCapacity, userIntervalMs, addressCapacity, addressIntervalMs, maxEntries,
+                () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    LoginThrottle(int userCapacity, long userIntervalMs, int addressCapacity, long addressIntervalMs,
+                  int maxEntries, LongSupplier clock) {
+        this.userCapacity = userCapacity;
+        this.userIntervalMs = userIntervalMs;
+        this.addressCapacity = addressCapacity;
+        this.addressIntervalMs = addressIntervalMs;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        // Sweeping more often than the fastest refill rarely finds anything new to drop
+        this.minSweepIntervalMs = Math.min(userIntervalMs, addressIntervalMs);
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+        this.userOverflow = new AtomicLong(clock.getAsLong());
+        this.addressOverflow = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Takes a token for the address and then for the user name.
+     *
+     * @throws LoginThrottledException if either bucket is empty
+     */
+    public void acquire(String userName, String clientIp) {
+        long now = clock.getAsLong();
+        if (clientIp != null) {
+            long waitMs = take(bucket(addresses, addressOverflow, clientIp, now), now, addressCapacity, addressIntervalMs);
+            if (waitMs > 0) {
+                rejectedByAddress.incrementAndGet();
+                throw new LoginThrottledException(toSeconds(waitMs));
+            }
+        }
+        if (userName != null) {
+            long waitMs = take(bucket(users, userOverflow, userName.toLowerCase(Locale.ROOT), now), now, userCapacity, userIntervalMs);
+            if (waitMs > 0) {
+                rejectedByUser.incrementAndGet();
+                throw new LoginThrottledException(toSeconds(waitMs));
+            }
+        }
+        allowed.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.login-throttle.sweep-interval-ms:60000}")
+    public void sweep() {
+        sweep(clock.getAsLong());
+    }
+
+    public LoginThrottleStatsResponse getStats() {
+        return new LoginThrottleStatsResponse(users.size(), addresses.size(), allowed.get(),
+                rejectedByUser.get(), rejectedByAddress.get());
+    }
+
+    private AtomicLong bucket(Map<String, AtomicLong> buckets, AtomicLong overflow, String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxEntries) {
+            long last = lastSweep.get();
+            if (now - last >= minSweepIntervalMs && lastSweep.compareAndSet(last, now)) {
+                sweep(now);
+            }
+            if (buckets.size() >= maxEntries) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    // Dropping a bucket that still holds attempts would give its key a fresh one
+    private void sweep(long now) {
+        lastSweep.accumulateAndGet(now, Math::max);
+        users.values().removeIf(bucket -> bucket.get() <= now);
+        addresses.values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    // Returns 0 when a token was taken, otherwise how long until one is available
+    private long take(AtomicLong bucket, long now, int capacity, long intervalMs) {
+        long burstMs = capacity * intervalMs;
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + intervalMs;
+            long waitMs = next - now - burstMs;
+            if (waitMs > 0) {
+                return waitMs;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(millis + 999));
+    }
+}
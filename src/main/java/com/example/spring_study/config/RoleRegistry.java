@@ -0,0 +1,103 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.model.Role;
+import com.example.spring_study.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the roles table with one shared {@link GrantedAuthority} per role. Role
+ * validation, employee writes and authority construction read it instead of the database; it is
+ * loaded at startup and replaced as a whole by {@link #refresh()} after roles change.
+ */
+@Component
+public class RoleRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(RoleRegistry.class);
+
+    private final RoleRepository roleRepository;
+    private volatile Snapshot snapshot;
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            refresh();
+        } catch (DataAccessException e) {
+            logger.error("Unable to load roles, retrying on first use", e);
+        }
+    }
+
+    public synchronized Set<String> refresh() {
+        Map<String, Role> roles = new HashMap<>();
+        Map<String, GrantedAuthority> authorities = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            roles.put(role.getName(), role);
+            authorities.put(role.getName(), new SimpleGrantedAuthority(role.getName()));
+        }
+        snapshot = new Snapshot(Map.copyOf(roles), Map.copyOf(authorities));
+        logger.info("Loaded {} roles", roles.size());
+        return snapshot.roles().keySet();
+    }
+
+    public boolean exists(String name) {
+        return current().roles().containsKey(name);
+    }
+
+    /**
+     * @return the roles with the given names; unknown names are skipped. Each call gets its own
+     * detached copies, so entities are never shared between persistence contexts. Employees do not
+     * cascade to roles, so saving one only writes the link rows for these ids.
+     */
+    public Set<Role> resolve(Collection<String> names) {
+        Map<String, Role> roles = current().roles();
+        Set<Role> result = new HashSet<>();
+        for (String name : names) {
+            Role role = roles.get(name);
+            if (role != null) {
+                result.add(new Role(role.getId(), role.getName()));
+            }
+        }
+        return result;
+    }
+
+    public GrantedAuthority authority(String name) {
+        GrantedAuthority authority = current().authorities().get(name);
+        // A role added since the last refresh still works, it is just not shared
+        return authority != null ? authority : new SimpleGrantedAuthority(name);
+    }
+
+    public Set<GrantedAuthority> authoritiesOf(Collection<Role> roles) {
+        Set<GrantedAuthority> result = new HashSet<>();
+        for (Role role : roles) {
+            result.add(authority(role.getName()));
+        }
+        return result;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<String, Role> roles, Map<String, GrantedAuthority> authorities) {
+    }
+}
@@ -7,23 +7,26 @@ import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 
 @Configuration
 @EnableMethodSecurity
@@ -36,26 +39,44 @@ public class SpringSecurityConfig {
 
     private JwtAuthenticationFilter authenticationFilter;
 
+    private BasicCredentialCache basicCredentialCache;
+
+    // Endpoints open to everyone get their own chain without the JWT filter or HTTP Basic
     @Bean
-    public static PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Order(1)
+    SecurityFilterChain publicFilterChain(HttpSecurity http) throws Exception {
+
+        http.securityMatchers(matchers -> matchers
+                        .requestMatchers("/api/auth/**", "/log", "/swagger-ui/**", "/v3/api-docs/**")
+                        .requestMatchers(HttpMethod.OPTIONS, "/**"))
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().permitAll());
+
+        stateless(http);
+
+        return http.build();
     }
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    @Order(2)
+    SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationConfiguration configuration) throws Exception {
 
-        http.csrf(csrf -> csrf.disable())
-                .authorizeHttpRequests((authorize) -> {
+        http.authorizeHttpRequests((authorize) -> {
+                    // Streamed responses (SSE) complete on an async dispatch; the request itself was authorized already
+                    authorize.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                     authorize.requestMatchers(HttpMethod.POST, "/api/v1/**").hasRole("ADMIN");
                     authorize.requestMatchers(HttpMethod.PUT, "/api/v1/**").hasRole("ADMIN");
                     authorize.requestMatchers(HttpMethod.DELETE, "/api/v1/**").hasRole("ADMIN");
                     authorize.requestMatchers(HttpMethod.GET, "/api/v1/**").hasAnyRole("ADMIN", "USER");
                     authorize.requestMatchers(HttpMethod.PATCH, "/api/v1/**").hasAnyRole("ADMIN", "USER");
-                    authorize.requestMatchers("/api/auth/**").permitAll();
-                    authorize.requestMatchers("/log").permitAll();
-                    authorize.requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll();
-                    authorize.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll();
-                }).httpBasic(Customizer.withDefaults());
+                }).httpBasic(basic -> basic.authenticationEntryPoint(authenticationEntryPoint));
+
+        stateless(http);
+
+        if (basicCredentialCache.isEnabled()) {
+            // Only HTTP Basic goes through this manager; the login endpoint keeps using the plain one
+            AuthenticationManager authenticationManager = configuration.getAuthenticationManager();
+            http.authenticationManager(authentication -> basicCredentialCache.authenticate(authentication, authenticationManager));
+        }
 
         http.exceptionHandling(exception -> exception
                 .authenticationEntryPoint(authenticationEntryPoint));
@@ -65,6 +86,23 @@ public class SpringSecurityConfig {
         return http.build();
     }
 
+    // The filter is a bean so Boot would also register it for every request; it only belongs in the chain above
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // Every request authenticates on its own: no session is created and the security context
+    // only lives for the request (kept as a request attribute so async dispatches still see it)
+    private void stateless(HttpSecurity http) throws Exception {
+        http.csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                .requestCache(cache -> cache.requestCache(new NullRequestCache()));
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return configuration.getAuthenticationManager();
@@ -0,0 +1,101 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.model.RevokedToken;
+import com.example.spring_study.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids, stored in {@code revoked_token} and mirrored in memory as a Bloom filter in
+ * front of an exact map. An id that is not revoked almost always fails the Bloom probe, so the
+ * common check is a few bit reads; only probe hits are confirmed against the map. Bloom filters
+ * cannot forget, so the periodic reload rebuilds both from the rows that have not expired yet,
+ * which also picks up revocations made by other instances.
+ */
+@Component
+public class TokenRevocationList {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile Snapshot snapshot;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${app.jwt.revocation.expected-entries:10000}") int expectedRevocations,
+                               @Value("${app.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.snapshot = new Snapshot(new BloomFilter(expectedRevocations, falsePositiveRate), new ConcurrentHashMap<>());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.refresh-ms:60000}", initialDelayString = "${app.jwt.revocation.refresh-ms:60000}")
+    public void reload() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            revokedTokenRepository.deleteExpired(now);
+            List<RevokedToken> rows = revokedTokenRepository.findAllByExpiresAtAfter(now);
+            rebuild(rows);
+        } catch (DataAccessException e) {
+            logger.error("Unable to load revoked tokens", e);
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.filter().mightContain(tokenId) && current.revoked().containsKey(tokenId);
+    }
+
+    public synchronized void revoke(String tokenId, long expiresAtMillis) {
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAtMillis), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt, LocalDateTime.now()));
+        Snapshot current = snapshot;
+        current.revoked().put(tokenId, expiresAtMillis);
+        current.filter().add(tokenId);
+    }
+
+    public int size() {
+        return snapshot.revoked().size();
+    }
+
+    // Revocations made on this instance while the rows were loading are carried over by hand
+    private synchronized void rebuild(List<RevokedToken> rows) {
+        long now = System.currentTimeMillis();
+        Map<String, Long> revoked = new ConcurrentHashMap<>();
+        for (RevokedToken row : rows) {
+            revoked.put(row.getTokenId(), row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        snapshot.revoked().forEach((tokenId, expiresAt) -> {
+            if (expiresAt > now) {
+                revoked.putIfAbsent(tokenId, expiresAt);
+            }
+        });
+
+        // Sized for twice the current list so revocations until the next reload keep the error rate
+        BloomFilter filter = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(filter::add);
+        snapshot = new Snapshot(filter, revoked);
+    }
+
+    private record Snapshot(BloomFilter filter, Map<String, Long> revoked) {
+    }
+}
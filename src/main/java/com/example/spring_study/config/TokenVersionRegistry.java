@@ -0,0 +1,93 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of every employee's token version, so self-contained tokens can be checked
+ * without a query. The employee service updates it on every change; a periodic reload picks up
+ * changes made outside this instance. The reload replaces the map with what the database returned,
+ * except for changes made here while its query ran, which may be newer than the query's snapshot.
+ */
+@Component
+public class TokenVersionRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    private final EmployeeRepository employeeRepository;
+    private volatile Map<String, Integer> versions = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    // Changes made while a reload query runs, null values for removals; null when no reload is running
+    private Map<String, Integer> changesDuringReload;
+
+    public TokenVersionRegistry(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.version-refresh-ms:300000}", initialDelayString = "${app.jwt.version-refresh-ms:300000}")
+    public synchronized void reload() {
+        synchronized (lock) {
+            changesDuringReload = new HashMap<>();
+        }
+        try {
+            Map<String, Integer> loaded = new ConcurrentHashMap<>();
+            for (Object[] row : employeeRepository.findAllTokenVersions()) {
+                loaded.put((String) row[0], (Integer) row[1]);
+            }
+            synchronized (lock) {
+                changesDuringReload.forEach((userName, version) -> {
+                    if (version == null) {
+                        loaded.remove(userName);
+                    } else {
+                        loaded.put(userName, version);
+                    }
+                });
+                versions = loaded;
+            }
+        } catch (DataAccessException e) {
+            logger.error("Unable to load employee token versions", e);
+        } finally {
+            synchronized (lock) {
+                changesDuringReload = null;
+            }
+        }
+    }
+
+    /**
+     * @return the current version, or {@code null} for a user name that does not exist
+     */
+    public Integer get(String userName) {
+        return versions.get(userName);
+    }
+
+    public void put(String userName, int version) {
+        synchronized (lock) {
+            versions.put(userName, version);
+            if (changesDuringReload != null) {
+                changesDuringReload.put(userName, version);
+            }
+        }
+    }
+
+    public void remove(String userName) {
+        if (userName == null) {
+            return;
+        }
+        synchronized (lock) {
+            versions.remove(userName);
+            if (changesDuringReload != null) {
+                changesDuringReload.put(userName, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.spring_study.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps resolved {@link UserDetails} for authenticated requests so a valid token does not cost an
+ * employee and role lookup on every call. Entries expire after {@code ttlMs} and the cache never
+ * holds more than {@code maxEntries}; a miss on a full cache sweeps out expired entries at most once
+ * per {@code ttlMs} and otherwise evicts a single entry, so it stays cheap on the request thread.
+ * Changes to an employee evict it right away through {@link #invalidate(String)}. A miss puts a
+ * pending marker before it loads and only swaps in the result if the marker is still there, so a
+ * load that raced with an invalidation is not cached.
+ */
+@Component
+public class UserDetailsCache {
+    private final UserDetailsService userDetailsService;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Cached> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserDetailsCache(UserDetailsService userDetailsService,
+                            @Value("${app.security.user-cache.ttl-ms:60000}") long ttlMs,
+                            @Value("${app.security.user-cache.max-entries:10000}") int maxEntries) {
+        this.userDetailsService = userDetailsService;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    public UserDetails get(String userName) {
+        long now = System.nanoTime();
+        Cached cached = entries.get(userName);
+        if (cached != null && cached.userDetails() != null && now - cached.loadedAt() < ttlNanos) {
+            hits.incrementAndGet();
+            return cached.userDetails();
+        }
+
+        misses.incrementAndGet();
+        if (entries.size() >= maxEntries && !entries.containsKey(userName)) {
+            makeRoom(now);
+        }
+        Cached pending = new Cached(null, now);
+        entries.put(userName, pending);
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(userName);
+        } catch (RuntimeException e) {
+            entries.remove(userName, pending);
+            throw e;
+        }
+        entries.replace(userName, pending, new Cached(userDetails, now));
+        return userDetails;
+    }
+
+    public void invalidate(String userName) {
+        if (userName != null) {
+            entries.remove(userName);
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Sweeps expired entries when the last sweep is a ttl old; if that frees nothing, evicts one entry
+    private void makeRoom(long now) {
+        long last = lastSweep.get();
+        if (now - last >= ttlNanos && lastSweep.compareAndSet(last, now)) {
+            int before = entries.size();
+            entries.values().removeIf(cached -> now - cached.loadedAt() >= ttlNanos);
+            evictions.addAndGet(Math.max(0, before - entries.size()));
+        }
+        if (entries.size() >= maxEntries) {
+            Iterator<String> keys = entries.keySet().iterator();
+            if (keys.hasNext() && entries.remove(keys.next()) != null) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    // userDetails is null while the entry is a pending marker
+    private record Cached(UserDetails userDetails, long loadedAt) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.spring_study.constant;
+
+public enum AuditWriterMode {
+    BATCH, COPY
+}
@@ -0,0 +1,7 @@
+package com.example.spring_study.constant;
+
+public enum BulkItemStatus {
+    CREATED,
+    REJECTED,
+    FAILED
+}
@@ -0,0 +1,14 @@
+package com.example.spring_study.constant;
+
+/**
+ * Sequences behind the entity ids. Hibernate hands out ids with the pooled optimizer: each
+ * {@code nextval} reserves the {@code ALLOCATION_SIZE} ids ending at the returned value.
+ */
+public class IdSequence {
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String BORROWING = "borrowing_seq";
+    public static final String DEVICE = "device_seq";
+    public static final String EMPLOYEE = "employee_seq";
+    public static final String ROLE = "roles_seq";
+}
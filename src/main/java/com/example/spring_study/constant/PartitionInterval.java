@@ -0,0 +1,6 @@
+package com.example.spring_study.constant;
+
+public enum PartitionInterval {
+    DAILY,
+    MONTHLY
+}
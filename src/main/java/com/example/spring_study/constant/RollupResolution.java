@@ -0,0 +1,7 @@
+package com.example.spring_study.constant;
+
+public enum RollupResolution {
+    MINUTE,
+    HOUR,
+    DAY
+}
@@ -1,8 +1,11 @@
 package com.example.spring_study.controllers;
 
+import com.example.spring_study.config.ClientIpResolver;
+import com.example.spring_study.config.JwtAuthenticationFilter;
 import com.example.spring_study.model.payload.JwtAuthResponse;
 import com.example.spring_study.model.payload.LoginRequest;
 import com.example.spring_study.services.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,8 +23,8 @@ public class AuthController {
 
     // Build Login REST API
     @PostMapping("/login")
-    public ResponseEntity<JwtAuthResponse> login(@RequestBody LoginRequest request) {
-        String token = authService.login(request);
+    public ResponseEntity<JwtAuthResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        String token = authService.login(request, ClientIpResolver.resolve(httpRequest));
 
         JwtAuthResponse jwtAuthResponse = new JwtAuthResponse();
         jwtAuthResponse.setAccessToken(token);
@@ -29,4 +32,10 @@ public class AuthController {
         return new ResponseEntity<>(jwtAuthResponse, HttpStatus.OK);
     }
 
+    // Revokes the bearer token of the request
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest httpRequest) {
+        boolean revoked = authService.logout(JwtAuthenticationFilter.getTokenFromRequest(httpRequest));
+        return revoked ? ResponseEntity.noContent().build() : ResponseEntity.badRequest().build();
+    }
 }
@@ -3,15 +3,20 @@ package com.example.spring_study.controllers;
 import com.example.spring_study.constant.Type;
 import com.example.spring_study.model.payload.*;
 import com.example.spring_study.services.BorrowingService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.repository.query.Param;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.Reader;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -20,6 +25,8 @@ import java.util.List;
 public class BorrowingController {
     @Autowired
     private BorrowingService borrowingService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @GetMapping(path = "/get")
     public ResponseEntity<BorrowingResponse> getBorrowingById(@Param("id") int id) {
@@ -67,6 +74,29 @@ public class BorrowingController {
         return ResponseEntity.ok().body(borrowing);
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkBorrowingResponse> createBorrowings(@RequestBody List<BorrowingRequest> requests) {
+        return ResponseEntity.ok(borrowingService.createBorrowings(requests.iterator()));
+    }
+
+    // One request per line, read as the service consumes them so large imports are never held in memory
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkBorrowingResponse> createBorrowingsFromLines(Reader body) {
+        BufferedReader reader = new BufferedReader(body);
+        return ResponseEntity.ok(borrowingService.createBorrowings(reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(this::parseBorrowingRequest)
+                .iterator()));
+    }
+
+    private BorrowingRequest parseBorrowingRequest(String line) {
+        try {
+            return objectMapper.readValue(line, BorrowingRequest.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
     @PutMapping(path = "/update")
     public ResponseEntity<BorrowingResponse> updateBorrowing(@Param("id") int id, @Valid @RequestBody BorrowingRequest request) {
         BorrowingResponse borrowing = borrowingService.updateBorrowing(id, request);
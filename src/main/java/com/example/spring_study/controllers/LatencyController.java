@@ -0,0 +1,34 @@
+package com.example.spring_study.controllers;
+
+import com.example.spring_study.constant.ProjectRole;
+import com.example.spring_study.logging.LatencyRecorder;
+import com.example.spring_study.logging.NoLogging;
+import com.example.spring_study.model.payload.LatencyStatsResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/api/v1/log/latency")
+public class LatencyController {
+    private final LatencyRecorder latencyRecorder;
+
+    public LatencyController(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping
+    public ResponseEntity<List<LatencyStatsResponse>> getLatency(@RequestParam(defaultValue = "60") long windowSeconds) {
+        if (windowSeconds <= 0 || windowSeconds > latencyRecorder.getMaxWindowSeconds()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(latencyRecorder.snapshot(windowSeconds));
+    }
+}
@@ -1,14 +1,57 @@
 package com.example.spring_study.controllers;
 
+import com.example.spring_study.constant.ProjectRole;
+import com.example.spring_study.logging.AuditLogWriter;
+import com.example.spring_study.logging.AuditSamplingPolicy;
+import com.example.spring_study.logging.AuditTailBroadcaster;
+import com.example.spring_study.logging.LogCursor;
+import com.example.spring_study.logging.NoLogging;
+import com.example.spring_study.model.payload.AuditWriterStatsResponse;
+import com.example.spring_study.model.payload.LogEntryPageResponse;
+import com.example.spring_study.model.payload.LogSearchRequest;
+import com.example.spring_study.model.payload.OperationRollupResponse;
+import com.example.spring_study.model.payload.RollupSearchRequest;
+import com.example.spring_study.model.payload.SamplingPolicyRequest;
+import com.example.spring_study.model.payload.SamplingPolicyResponse;
+import com.example.spring_study.model.payload.StackTraceResponse;
+import com.example.spring_study.services.LogService;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @RestController
 public class LogController {
     Logger logger = LoggerFactory.getLogger(LogController.class);
 
+    private final AuditLogWriter auditLogWriter;
+    private final AuditSamplingPolicy samplingPolicy;
+    private final LogService logService;
+    private final AuditTailBroadcaster tailBroadcaster;
+
+    public LogController(AuditLogWriter auditLogWriter, AuditSamplingPolicy samplingPolicy, LogService logService,
+                         AuditTailBroadcaster tailBroadcaster) {
+        this.auditLogWriter = auditLogWriter;
+        this.samplingPolicy = samplingPolicy;
+        this.logService = logService;
+        this.tailBroadcaster = tailBroadcaster;
+    }
+
     @GetMapping("/log")
     public String log() {
         logger.trace("Log level: TRACE");
@@ -19,4 +62,79 @@ public class LogController {
 
         return "Hey! You can check the output in the logs";
     }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping("/api/v1/log/writer")
+    public ResponseEntity<AuditWriterStatsResponse> getWriterStats() {
+        return ResponseEntity.ok(new AuditWriterStatsResponse(
+                auditLogWriter.getEnqueuedCount(),
+                auditLogWriter.getFlushedCount(),
+                auditLogWriter.getDroppedCount(),
+                auditLogWriter.getFailedCount(),
+                auditLogWriter.getQueueDepth()
+        ));
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping("/api/v1/log/sampling")
+    public ResponseEntity<SamplingPolicyResponse> getSamplingPolicy() {
+        return ResponseEntity.ok(samplingPolicy.describe());
+    }
+
+    @PutMapping("/api/v1/log/sampling")
+    public ResponseEntity<SamplingPolicyResponse> updateSamplingPolicy(@Valid @RequestBody SamplingPolicyRequest request) {
+        samplingPolicy.update(request);
+        return ResponseEntity.ok(samplingPolicy.describe());
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping("/api/v1/log/entries")
+    public ResponseEntity<LogEntryPageResponse> searchLogs(@Valid @ModelAttribute LogSearchRequest request) {
+        LogCursor cursor = null;
+        if (request.getCursor() != null) {
+            cursor = LogCursor.decode(request.getCursor());
+            if (cursor == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        return ResponseEntity.ok(logService.searchLogs(request, cursor));
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping("/api/v1/log/stack-traces/{fingerprint}")
+    public ResponseEntity<StackTraceResponse> getStackTrace(@PathVariable String fingerprint) {
+        StackTraceResponse stackTrace = logService.getStackTrace(fingerprint);
+        if (stackTrace == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(stackTrace);
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping("/api/v1/log/rollups")
+    public ResponseEntity<List<OperationRollupResponse>> getRollups(@Valid @ModelAttribute RollupSearchRequest request) {
+        if (!request.getFrom().isBefore(request.getTo())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(logService.getRollups(request));
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping(path = "/api/v1/log/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> tailLogs(@RequestParam(required = false) String userName,
+                                               @RequestParam(required = false) String action,
+                                               @RequestParam(required = false) LogLevel level,
+                                               @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = tailBroadcaster.subscribe(userName, action, level, lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
 }
@@ -0,0 +1,92 @@
+package com.example.spring_study.controllers;
+
+import com.example.spring_study.config.BasicCredentialCache;
+import com.example.spring_study.config.BoundedPasswordEncoder;
+import com.example.spring_study.config.JwtTokenVerifier;
+import com.example.spring_study.config.LoginThrottle;
+import com.example.spring_study.config.RoleRegistry;
+import com.example.spring_study.config.UserDetailsCache;
+import com.example.spring_study.constant.ProjectRole;
+import com.example.spring_study.logging.NoLogging;
+import com.example.spring_study.model.payload.CacheStatsResponse;
+import com.example.spring_study.model.payload.LoginThrottleStatsResponse;
+import com.example.spring_study.model.payload.PasswordHashingStatsResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping(path = "/api/v1/security")
+public class SecurityController {
+    private final UserDetailsCache userDetailsCache;
+    private final JwtTokenVerifier tokenVerifier;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final LoginThrottle loginThrottle;
+    private final BasicCredentialCache basicCredentialCache;
+    private final RoleRegistry roleRegistry;
+
+    public SecurityController(UserDetailsCache userDetailsCache, JwtTokenVerifier tokenVerifier,
+                              BoundedPasswordEncoder passwordEncoder, LoginThrottle loginThrottle,
+                              BasicCredentialCache basicCredentialCache, RoleRegistry roleRegistry) {
+        this.userDetailsCache = userDetailsCache;
+        this.tokenVerifier = tokenVerifier;
+        this.passwordEncoder = passwordEncoder;
+        this.loginThrottle = loginThrottle;
+        this.basicCredentialCache = basicCredentialCache;
+        this.roleRegistry = roleRegistry;
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping(path = "/user-cache")
+    public ResponseEntity<CacheStatsResponse> getUserCacheStats() {
+        return ResponseEntity.ok(cacheStats(userDetailsCache.getHitCount(), userDetailsCache.getMissCount(),
+                userDetailsCache.getEvictionCount(), userDetailsCache.size()));
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping(path = "/token-cache")
+    public ResponseEntity<CacheStatsResponse> getTokenCacheStats() {
+        return ResponseEntity.ok(cacheStats(tokenVerifier.getHitCount(), tokenVerifier.getMissCount(),
+                tokenVerifier.getEvictionCount(), tokenVerifier.size()));
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping(path = "/basic-cache")
+    public ResponseEntity<CacheStatsResponse> getBasicCacheStats() {
+        return ResponseEntity.ok(cacheStats(basicCredentialCache.getHitCount(), basicCredentialCache.getMissCount(),
+                basicCredentialCache.getEvictionCount(), basicCredentialCache.size()));
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping(path = "/password-hashing")
+    public ResponseEntity<PasswordHashingStatsResponse> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordEncoder.getStats());
+    }
+
+    @NoLogging
+    @PreAuthorize(ProjectRole.ADMIN)
+    @GetMapping(path = "/login-throttle")
+    public ResponseEntity<LoginThrottleStatsResponse> getLoginThrottleStats() {
+        return ResponseEntity.ok(loginThrottle.getStats());
+    }
+
+    // Reloads the role registry after roles were changed in the database
+    @PreAuthorize(ProjectRole.ADMIN)
+    @PostMapping(path = "/roles/refresh")
+    public ResponseEntity<Set<String>> refreshRoles() {
+        return ResponseEntity.ok(roleRegistry.refresh());
+    }
+
+    private CacheStatsResponse cacheStats(long hits, long misses, long evictions, int size) {
+        return new CacheStatsResponse(hits, misses, evictions, size, hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.spring_study.exception;
 
+import java.util.Collection;
+
 public class DeviceNotFoundException extends RuntimeException {
     public DeviceNotFoundException(int id) {
         super("Device with ID " + id + " not found");
     }
+
+    public DeviceNotFoundException(Collection<Integer> ids) {
+        super("Devices with IDs " + ids + " not found");
+    }
 }
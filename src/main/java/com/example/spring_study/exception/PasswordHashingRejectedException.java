@@ -0,0 +1,20 @@
+package com.example.spring_study.exception;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * Thrown when the password hashing executor is saturated. It is an authentication exception so
+ * that Spring Security passes it through unchanged instead of reporting bad credentials.
+ */
+public class PasswordHashingRejectedException extends InternalAuthenticationServiceException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Too many password checks in progress, retry in " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
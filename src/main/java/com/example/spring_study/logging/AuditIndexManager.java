@@ -0,0 +1,52 @@
+package com.example.spring_study.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Owns the {@code log_entry} indexes the audit query API pages over, whether or not the table is
+ * partitioned. They are declared here rather than on the entity because Hibernate's schema update
+ * cannot see indexes on a partitioned parent and would try to create them again on every startup.
+ * When {@link AuditPartitionManager} is active it also calls {@link #ensureIndexes()} right after
+ * converting the table, so the indexes land on the parent and cascade to every partition.
+ */
+@Component
+public class AuditIndexManager {
+    private static final Logger logger = LoggerFactory.getLogger(AuditIndexManager.class);
+
+    private static final String TABLE = "log_entry";
+
+    static final Map<String, String> INDEXES = Map.of(
+            "idx_log_entry_timestamp_id", "timestamp, id",
+            "idx_log_entry_user_timestamp_id", "user_name, timestamp, id",
+            "idx_log_entry_action_timestamp_id", "action, timestamp, id",
+            "idx_log_entry_level_timestamp_id", "level, timestamp, id",
+            "idx_log_entry_method_timestamp_id", "method, timestamp, id");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditIndexManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            ensureIndexes();
+        } catch (DataAccessException e) {
+            logger.error("Unable to create indexes for {}", TABLE, e);
+        }
+    }
+
+    public void ensureIndexes() {
+        INDEXES.forEach((name, columns) ->
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + name + " ON " + TABLE + " (" + columns + ")"));
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.constant.AuditSinkType;
+import com.example.spring_study.constant.OverflowPolicy;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded buffer between the request threads and the audit table. Entries are drained by a single
+ * background thread and written in batches once {@code batchSize} entries are queued or
+ * {@code flushIntervalMs} has passed since the first entry of the batch. With the {@code SPOOL} sink
+ * the batches go to the local {@link AuditSpool} instead and reach the database through the replayer.
+ * Once {@link #stop()} has begun, new entries are rejected and counted as dropped.
+ */
+@Component
+public class AuditLogWriter {
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private final BlockingQueue<LogEntry> queue;
+    private final LogEntryWriter entryWriter;
+    private final AuditSpool spool;
+    private final AuditPartitionManager partitionManager;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMs;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean stopping;
+    private Thread flusher;
+
+    public AuditLogWriter(LogEntryWriter entryWriter,
+                          ObjectProvider<AuditSpool> spool,
+                          ObjectProvider<AuditPartitionManager> partitionManager,
+                          @Value("${app.audit.sink:DATABASE}") AuditSinkType sinkType,
+                          @Value("${app.audit.writer.capacity:10000}") int capacity,
+                          @Value("${app.audit.writer.batch-size:500}") int batchSize,
+                          @Value("${app.audit.writer.flush-interval-ms:1000}") long flushIntervalMs,
+                          @Value("${app.audit.writer.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                          @Value("${app.audit.writer.block-timeout-ms:50}") long blockTimeoutMs) {
+        this.entryWriter = entryWriter;
+        this.spool = sinkType == AuditSinkType.SPOOL ? spool.getObject() : null;
+        this.partitionManager = partitionManager.getIfAvailable();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "audit-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stopping = true;
+        running = false;
+        flusher.join(flushIntervalMs * 2 + 1000);
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            flusher.join(1000);
+        }
+        if (flusher.isAlive()) {
+            // Draining now would write from a second thread while the flusher may still be writing
+            logger.error("Audit log flusher did not stop; abandoning {} queued entries", queue.size());
+            return;
+        }
+
+        // Whatever the flusher did not pick up before it stopped is written here
+        List<LogEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    public boolean submit(LogEntry entry) {
+        if (stopping) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        boolean accepted;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                accepted = queue.offer(entry, blockTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(entry);
+        }
+
+        // An entry that raced with stop() may have missed the final drain; take it back if it is still queued
+        if (accepted && stopping && queue.remove(entry)) {
+            accepted = false;
+        }
+
+        if (accepted) {
+            enqueued.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    private void runFlusher() {
+        List<LogEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                LogEntry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    LogEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        flush(batch);
+    }
+
+    private void flush(List<LogEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (spool != null) {
+                spool.append(batch);
+            } else {
+                if (partitionManager != null) {
+                    partitionManager.ensureCovered(batch);
+                }
+                entryWriter.insert(batch);
+            }
+            flushed.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            logger.error("Unable to write {} audit log entries", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getFlushedCount() {
+        return flushed.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.constant.PartitionInterval;
+import com.example.spring_study.constant.RetentionAction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code log_entry} as a PostgreSQL table range-partitioned on {@code timestamp}. On startup a
+ * plain table (as created by Hibernate) is converted in place, keeping its rows in a legacy
+ * partition. A scheduled job then creates upcoming partitions and detaches or drops the ones that
+ * fall out of the retention window, so retention never needs a DELETE.
+ * <p>
+ * There is no DEFAULT partition: PostgreSQL only detaches partitions concurrently, without locking
+ * {@code log_entry} against writers, when the table has none. Partitions are created
+ * {@code premake} intervals ahead instead, and writers call {@link #ensureCovered(List)} before an
+ * insert so rows outside that horizon (a missed job, a replayed spool) still find a partition.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.partition.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditPartitionManager {
+    private static final Logger logger = LoggerFactory.getLogger(AuditPartitionManager.class);
+
+    private static final String TABLE = "log_entry";
+    private static final String LEGACY_PARTITION = "log_entry_legacy";
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern BOUND_PATTERN = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+
+    private static final String CREATE_PARTITIONED_TABLE = "CREATE TABLE " + TABLE + " (" +
+            "id BIGINT GENERATED BY DEFAULT AS IDENTITY, " +
+            "timestamp TIMESTAMP(6) NOT NULL, " +
+            "level VARCHAR(255) NOT NULL, " +
+            "method VARCHAR(255), " +
+            "message TEXT, " +
+            "action TEXT, " +
+            "execution_time BIGINT, " +
+            "user_name VARCHAR(255), " +
+            "ip_address VARCHAR(255), " +
+            "parameters TEXT, " +
+            "result TEXT, " +
+            "stack_trace TEXT, " +
+            "stack_trace_fingerprint VARCHAR(64), " +
+            "PRIMARY KEY (id, timestamp)" +
+            ") PARTITION BY RANGE (timestamp)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditIndexManager indexManager;
+    private final PartitionInterval interval;
+    private final int premake;
+    private final int retention;
+    private final RetentionAction retentionAction;
+    // Interval starts already known to have a partition; cleared whenever maintenance may drop one
+    private final Set<LocalDateTime> covered = ConcurrentHashMap.newKeySet();
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 AuditIndexManager indexManager,
+                                 @Value("${app.audit.partition.interval:DAILY}") PartitionInterval interval,
+                                 @Value("${app.audit.partition.premake:7}") int premake,
+                                 @Value("${app.audit.partition.retention:90}") int retention,
+                                 @Value("${app.audit.partition.retention-action:DROP}") RetentionAction retentionAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.indexManager = indexManager;
+        this.interval = interval;
+        this.premake = premake;
+        this.retention = retention;
+        this.retentionAction = retentionAction;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> ensurePartitioned());
+            maintain();
+        } catch (DataAccessException e) {
+            logger.error("Unable to set up partitions for {}", TABLE, e);
+        }
+    }
+
+    @Scheduled(cron = "${app.audit.partition.cron:0 15 0 * * *}")
+    public void maintain() {
+        covered.clear();
+        try {
+            createUpcomingPartitions();
+            applyRetention();
+        } catch (DataAccessException e) {
+            logger.error("Partition maintenance for {} failed", TABLE, e);
+        }
+    }
+
+    /**
+     * Creates the partitions the given entries fall into when the scheduled job has not made them.
+     * Runs before the insert rather than after a failure, since a JDBC batch is not atomic outside
+     * a transaction and a retry could write part of it twice.
+     */
+    public void ensureCovered(List<LogEntry> entries) {
+        Set<LocalDateTime> missing = new TreeSet<>();
+        for (LogEntry entry : entries) {
+            if (entry.getTimestamp() != null) {
+                LocalDateTime start = intervalStart(entry.getTimestamp());
+                if (!covered.contains(start)) {
+                    missing.add(start);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            createMissingPartitions(missing);
+        }
+    }
+
+    private synchronized void createMissingPartitions(Set<LocalDateTime> starts) {
+        List<Partition> existing = findPartitions();
+        for (LocalDateTime start : starts) {
+            LocalDateTime end = next(start);
+            if (!overlapsAny(existing, start, end)) {
+                createPartition(start, end);
+                existing.add(new Partition(partitionName(start), start, end, false));
+                logger.info("Created audit partition {} for an insert outside the premade range", partitionName(start));
+            }
+            covered.add(start);
+        }
+    }
+
+    private void ensurePartitioned() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE c.relname = ? AND n.nspname = current_schema()", String.class, TABLE);
+
+        if (kinds.isEmpty()) {
+            jdbcTemplate.execute(CREATE_PARTITIONED_TABLE);
+        } else if ("r".equals(kinds.get(0))) {
+            // Hibernate created a plain table; keep its rows as one partition ending at the next interval
+            LocalDateTime legacyEnd = next(intervalStart(LocalDateTime.now()));
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_PARTITION);
+            jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+            // Attaching gives the partition the parent's (id, timestamp) key, which needs the old key gone
+            jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " DROP CONSTRAINT IF EXISTS " + TABLE + "_pkey");
+            jdbcTemplate.execute("ALTER TABLE " + LEGACY_PARTITION + " ALTER COLUMN timestamp SET NOT NULL");
+            // The renamed table keeps the index names; free them so the partitioned indexes can take them
+            for (String index : AuditIndexManager.INDEXES.keySet()) {
+                jdbcTemplate.execute("DROP INDEX IF EXISTS " + index);
+            }
+            jdbcTemplate.execute(CREATE_PARTITIONED_TABLE);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY_PARTITION +
+                    " FOR VALUES FROM (MINVALUE) TO ('" + BOUND_FORMAT.format(legacyEnd) + "')");
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('" + TABLE + "', 'id'), " +
+                    "COALESCE((SELECT MAX(id) FROM " + TABLE + "), 0) + 1, false)", Long.class);
+            logger.info("Converted {} into a partitioned table", TABLE);
+        }
+        // On the parent they cascade to every partition
+        indexManager.ensureIndexes();
+    }
+
+    private void createUpcomingPartitions() {
+        List<Partition> existing = findPartitions();
+        LocalDateTime start = intervalStart(LocalDateTime.now());
+        for (int i = 0; i <= premake; i++) {
+            LocalDateTime end = next(start);
+            if (!overlapsAny(existing, start, end)) {
+                createPartition(start, end);
+            }
+            start = end;
+        }
+    }
+
+    private void createPartition(LocalDateTime start, LocalDateTime end) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(start) + " PARTITION OF " + TABLE +
+                " FOR VALUES FROM ('" + BOUND_FORMAT.format(start) + "') TO ('" + BOUND_FORMAT.format(end) + "')");
+    }
+
+    // Not transactional: DETACH CONCURRENTLY cannot run inside a transaction block
+    private void applyRetention() {
+        LocalDateTime cutoff = retentionCutoff();
+        for (Partition partition : findPartitions()) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            // A concurrent detach that was interrupted leaves the partition pending until it is finalized
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition.name() +
+                    (partition.detachPending() ? " FINALIZE" : " CONCURRENTLY"));
+            if (retentionAction == RetentionAction.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+            }
+            logger.info("Retention {} audit partition {}", retentionAction, partition.name());
+        }
+    }
+
+    private List<Partition> findPartitions() {
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid), i.inhdetachpending FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ?", rs -> {
+            Matcher matcher = BOUND_PATTERN.matcher(rs.getString(2));
+            if (matcher.find()) {
+                partitions.add(new Partition(rs.getString(1), parseBound(matcher.group(1)), parseBound(matcher.group(2)),
+                        rs.getBoolean(3)));
+            }
+        }, TABLE);
+        return partitions;
+    }
+
+    private boolean overlapsAny(List<Partition> partitions, LocalDateTime start, LocalDateTime end) {
+        return partitions.stream().anyMatch(partition ->
+                (partition.from() == null || partition.from().isBefore(end))
+                        && (partition.to() == null || partition.to().isAfter(start)));
+    }
+
+    // Bounds are rendered as MINVALUE, MAXVALUE or a quoted timestamp literal
+    private LocalDateTime parseBound(String bound) {
+        if (!bound.startsWith("'")) {
+            return null;
+        }
+        return LocalDateTime.parse(bound.substring(1, bound.length() - 1).replace(' ', 'T'));
+    }
+
+    private String partitionName(LocalDateTime start) {
+        return TABLE + "_p" + (interval == PartitionInterval.MONTHLY
+                ? DateTimeFormatter.ofPattern("yyyyMM").format(start)
+                : DateTimeFormatter.BASIC_ISO_DATE.format(start));
+    }
+
+    // Start of the oldest interval retention keeps; partitions ending at or before it expire
+    private LocalDateTime retentionCutoff() {
+        LocalDateTime cutoff = intervalStart(LocalDateTime.now());
+        for (int i = 0; i < retention; i++) {
+            cutoff = previous(cutoff);
+        }
+        return cutoff;
+    }
+
+    private LocalDateTime intervalStart(LocalDateTime time) {
+        LocalDate day = time.toLocalDate();
+        return (interval == PartitionInterval.MONTHLY ? day.withDayOfMonth(1) : day).atStartOfDay();
+    }
+
+    private LocalDateTime next(LocalDateTime start) {
+        return interval == PartitionInterval.MONTHLY ? start.plusMonths(1) : start.plusDays(1);
+    }
+
+    private LocalDateTime previous(LocalDateTime start) {
+        return interval == PartitionInterval.MONTHLY ? start.minusMonths(1) : start.minusDays(1);
+    }
+
+    private record Partition(String name, LocalDateTime from, LocalDateTime to, boolean detachPending) {
+    }
+}
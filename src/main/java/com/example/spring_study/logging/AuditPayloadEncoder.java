@@ -0,0 +1,213 @@
+package com.example.spring_study.logging;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serializes audit parameters and results exactly once into pooled, size-capped buffers. Anything
+ * past {@code maxBytes} is cut off and marked, and page or collection results can be reduced to a
+ * summary of type, element count and ids instead of the full content.
+ */
+@Component
+public class AuditPayloadEncoder {
+    private static final String TRUNCATED_MARKER = "...[truncated at %d bytes]";
+    private static final int POOL_SIZE = 64;
+
+    private final ObjectMapper objectMapper;
+    private final int maxBytes;
+    private final boolean summarizeCollections;
+    private final int maxSummaryIds;
+
+    private final BlockingQueue<CappedBuffer> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final Map<Class<?>, Optional<Method>> idAccessors = new ConcurrentHashMap<>();
+
+    public AuditPayloadEncoder(ObjectMapper objectMapper,
+                               @Value("${app.audit.payload.max-bytes:4096}") int maxBytes,
+                               @Value("${app.audit.payload.summarize-collections:true}") boolean summarizeCollections,
+                               @Value("${app.audit.payload.max-summary-ids:50}") int maxSummaryIds) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.summarizeCollections = summarizeCollections;
+        this.maxSummaryIds = maxSummaryIds;
+    }
+
+    /**
+     * Encodes the handler arguments, leaving out servlet requests and responses and body streams.
+     */
+    public String encodeArgs(Object[] args) {
+        return encode(generator -> {
+            generator.writeStartArray();
+            for (Object arg : args) {
+                if (isStream(arg)) {
+                    continue;
+                }
+                objectMapper.writeValue(generator, arg);
+            }
+            generator.writeEndArray();
+        }, "Unable to serialize request data");
+    }
+
+    // Servlet objects and raw bodies are handler arguments Jackson can not serialize, and reading them would consume the request
+    private static boolean isStream(Object arg) {
+        return arg instanceof ServletRequest || arg instanceof ServletResponse || arg instanceof InputStream || arg instanceof Reader;
+    }
+
+    public String encodeResult(Object result) {
+        if (result == null) {
+            return null;
+        }
+        return encode(generator -> {
+            if (result instanceof ResponseEntity<?> response) {
+                generator.writeStartObject();
+                generator.writeNumberField("status", response.getStatusCode().value());
+                generator.writeFieldName("body");
+                writeResultValue(generator, response.getBody());
+                generator.writeEndObject();
+            } else {
+                writeResultValue(generator, result);
+            }
+        }, "Unable to serialize response data");
+    }
+
+    private void writeResultValue(JsonGenerator generator, Object value) throws IOException {
+        if (summarizeCollections && value instanceof Page<?> page) {
+            generator.writeStartObject();
+            generator.writeStringField("type", "Page");
+            generator.writeNumberField("elements", page.getNumberOfElements());
+            generator.writeNumberField("totalElements", page.getTotalElements());
+            generator.writeNumberField("page", page.getNumber());
+            generator.writeNumberField("size", page.getSize());
+            writeIds(generator, page.getContent());
+            generator.writeEndObject();
+        } else if (summarizeCollections && value instanceof Collection<?> collection) {
+            generator.writeStartObject();
+            generator.writeStringField("type", collection.getClass().getSimpleName());
+            generator.writeNumberField("elements", collection.size());
+            writeIds(generator, collection);
+            generator.writeEndObject();
+        } else {
+            objectMapper.writeValue(generator, value);
+        }
+    }
+
+    private void writeIds(JsonGenerator generator, Collection<?> elements) throws IOException {
+        generator.writeArrayFieldStart("ids");
+        int written = 0;
+        for (Object element : elements) {
+            if (written++ >= maxSummaryIds || element == null) {
+                break;
+            }
+            Optional<Method> accessor = idAccessors.computeIfAbsent(element.getClass(),
+                    type -> Optional.ofNullable(ReflectionUtils.findMethod(type, "getId")));
+            if (accessor.isEmpty()) {
+                break;
+            }
+            objectMapper.writeValue(generator, ReflectionUtils.invokeMethod(accessor.get(), element));
+        }
+        generator.writeEndArray();
+    }
+
+    private String encode(PayloadWriter writer, String failureMessage) {
+        CappedBuffer buffer = pool.poll();
+        if (buffer == null) {
+            buffer = new CappedBuffer(maxBytes);
+        }
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8)) {
+            writer.write(generator);
+        } catch (IOException | RuntimeException e) {
+            if (!buffer.isTruncated()) {
+                buffer.reset();
+                pool.offer(buffer);
+                return failureMessage;
+            }
+        }
+
+        try {
+            return buffer.asString();
+        } finally {
+            buffer.reset();
+            pool.offer(buffer);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private static final class CappedBuffer extends OutputStream {
+        private final byte[] bytes;
+        private int count;
+        private boolean truncated;
+
+        CappedBuffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == bytes.length) {
+                overflow();
+            }
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] source, int offset, int length) throws IOException {
+            int writable = Math.min(length, bytes.length - count);
+            System.arraycopy(source, offset, bytes, count, writable);
+            count += writable;
+            if (writable < length) {
+                overflow();
+            }
+        }
+
+        // Stops the serializer instead of letting it render content that would be thrown away
+        private void overflow() throws IOException {
+            truncated = true;
+            throw new IOException("Audit payload exceeds " + bytes.length + " bytes");
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        String asString() {
+            String value = new String(bytes, 0, count, StandardCharsets.UTF_8);
+            if (!truncated) {
+                return value;
+            }
+            // The cut may split a multi-byte character, which decodes to a replacement char
+            if (value.endsWith("\uFFFD")) {
+                value = value.substring(0, value.length() - 1);
+            }
+            return value + String.format(TRUNCATED_MARKER, bytes.length);
+        }
+
+        void reset() {
+            count = 0;
+            truncated = false;
+        }
+    }
+}
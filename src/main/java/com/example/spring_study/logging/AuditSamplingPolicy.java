@@ -0,0 +1,99 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.model.payload.SamplingPolicyRequest;
+import com.example.spring_study.model.payload.SamplingPolicyResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a finished controller call gets an audit row. Errors, slow calls and requests
+ * that are not plain reads are always kept; everything else is sampled at the rate configured for
+ * its endpoint, falling back to the rate of its action. Rules can be replaced at runtime.
+ */
+@Component
+public class AuditSamplingPolicy {
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private volatile Rules rules;
+
+    private final AtomicLong logged = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    public AuditSamplingPolicy(@Value("${app.audit.sampling.action-rates:}") String actionRates,
+                               @Value("${app.audit.sampling.endpoint-rates:}") String endpointRates,
+                               @Value("${app.audit.sampling.slow-threshold-ms:500}") long slowThresholdMs,
+                               @Value("${app.audit.sampling.always-log-errors:true}") boolean alwaysLogErrors) {
+        this.rules = new Rules(parseRates(actionRates), parseRates(endpointRates), slowThresholdMs, alwaysLogErrors);
+    }
+
+    public boolean shouldLog(String endpoint, String action, String httpMethod, Throwable ex, long elapsedNanos) {
+        Rules current = rules;
+        boolean keep = (ex != null && current.alwaysLogErrors())
+                || TimeUnit.NANOSECONDS.toMillis(elapsedNanos) >= current.slowThresholdMs()
+                || (httpMethod != null && !READ_METHODS.contains(httpMethod))
+                || sample(current.rateFor(endpoint, action));
+
+        if (keep) {
+            logged.incrementAndGet();
+        } else {
+            skipped.incrementAndGet();
+        }
+        return keep;
+    }
+
+    public void update(SamplingPolicyRequest request) {
+        rules = new Rules(Map.copyOf(request.getActionRates()), Map.copyOf(request.getEndpointRates()),
+                request.getSlowThresholdMs(), request.isAlwaysLogErrors());
+    }
+
+    public SamplingPolicyResponse describe() {
+        Rules current = rules;
+        SamplingPolicyResponse response = new SamplingPolicyResponse();
+        response.setActionRates(current.actionRates());
+        response.setEndpointRates(current.endpointRates());
+        response.setSlowThresholdMs(current.slowThresholdMs());
+        response.setAlwaysLogErrors(current.alwaysLogErrors());
+        response.setLogged(logged.get());
+        response.setSkipped(skipped.get());
+        return response;
+    }
+
+    private boolean sample(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    // Parses "KEY:rate,KEY:rate" as written in application.properties
+    private static Map<String, Double> parseRates(String value) {
+        Map<String, Double> rates = new HashMap<>();
+        if (!StringUtils.hasText(value)) {
+            return Map.of();
+        }
+        for (String pair : value.split(",")) {
+            int separator = pair.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid sampling rate '" + pair + "', expected KEY:rate");
+            }
+            rates.put(pair.substring(0, separator).trim(), Double.parseDouble(pair.substring(separator + 1).trim()));
+        }
+        return Map.copyOf(rates);
+    }
+
+    private record Rules(Map<String, Double> actionRates, Map<String, Double> endpointRates,
+                         long slowThresholdMs, boolean alwaysLogErrors) {
+        double rateFor(String endpoint, String action) {
+            Double rate = endpointRates.get(endpoint);
+            if (rate == null) {
+                rate = actionRates.getOrDefault(action, 1.0);
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.spring_study.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local spool for audit entries. Records are written into a memory-mapped segment as
+ * {@code [length][crc32][json]}; a zero length marks the end of the data. Full or idle segments
+ * are sealed by renaming them from {@code .open} to {@code .seg}, which is what
+ * {@link AuditSpoolReplayer} picks up. Segment names carry a per-process instance id, since the
+ * replayer records them in a table that every node shares.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.sink", havingValue = "SPOOL")
+public class AuditSpool {
+    private static final Logger logger = LoggerFactory.getLogger(AuditSpool.class);
+
+    static final String OPEN_SUFFIX = ".open";
+    static final String SEALED_SUFFIX = ".seg";
+    static final String QUARANTINED_SUFFIX = ".quarantined";
+    private static final int HEADER_BYTES = 8;
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int segmentBytes;
+    private final long sealIntervalMs;
+    private final String instanceId = UUID.randomUUID().toString().replace("-", "");
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong oversized = new AtomicLong();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Path activeSegment;
+    private long activeSince;
+
+    public AuditSpool(ObjectMapper objectMapper,
+                      @Value("${app.audit.spool.dir:./spool}") String directory,
+                      @Value("${app.audit.spool.segment-bytes:16777216}") int segmentBytes,
+                      @Value("${app.audit.spool.seal-interval-ms:5000}") long sealIntervalMs) {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        this.sealIntervalMs = sealIntervalMs;
+    }
+
+    @PostConstruct
+    public void recover() throws IOException {
+        Files.createDirectories(directory);
+        // Segments left open by a crash still hold valid records up to the first bad checksum
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path open : files.filter(path -> path.toString().endsWith(OPEN_SUFFIX)).sorted().toList()) {
+                seal(open);
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        sealActive();
+    }
+
+    public synchronized void append(List<LogEntry> entries) {
+        try {
+            for (LogEntry entry : entries) {
+                byte[] payload = objectMapper.writeValueAsBytes(entry);
+                if (payload.length + HEADER_BYTES > segmentBytes) {
+                    oversized.incrementAndGet();
+                    logger.error("Audit entry of {} bytes does not fit in a spool segment", payload.length);
+                    continue;
+                }
+                // Keep room for the record plus a zero length terminator
+                if (buffer == null || buffer.remaining() < payload.length + HEADER_BYTES * 2) {
+                    sealActive();
+                    openSegment();
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                buffer.putInt(payload.length);
+                buffer.putInt((int) crc.getValue());
+                buffer.put(payload);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to audit spool " + activeSegment, e);
+        }
+    }
+
+    public synchronized void sealIfIdle() throws IOException {
+        if (buffer != null && buffer.position() > 0 && System.currentTimeMillis() - activeSince >= sealIntervalMs) {
+            sealActive();
+        }
+    }
+
+    public List<Path> sealedSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(SEALED_SUFFIX)).sorted().toList();
+        }
+    }
+
+    public List<LogEntry> read(Path segment) throws IOException {
+        List<LogEntry> entries = new ArrayList<>();
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+        while (data.remaining() >= HEADER_BYTES) {
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length <= 0 || length > data.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            data.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                logger.error("Checksum mismatch in audit spool segment {}, skipping the rest of it", segment);
+                break;
+            }
+            entries.add(objectMapper.readValue(payload, LogEntry.class));
+        }
+        return entries;
+    }
+
+    /**
+     * Moves a sealed segment out of the replay queue, keeping it on disk for inspection.
+     */
+    public Path quarantine(Path segment) throws IOException {
+        String fileName = segment.getFileName().toString();
+        Path quarantined = segment.resolveSibling(fileName.substring(0, fileName.length() - SEALED_SUFFIX.length()) + QUARANTINED_SUFFIX);
+        Files.move(segment, quarantined, StandardCopyOption.ATOMIC_MOVE);
+        return quarantined;
+    }
+
+    public long getOversizedCount() {
+        return oversized.get();
+    }
+
+    private void openSegment() throws IOException {
+        // Time first so segments still sort in write order
+        String name = String.format("segment-%013d-%s-%06d", System.currentTimeMillis(), instanceId,
+                sequence.incrementAndGet() % 1_000_000);
+        activeSegment = directory.resolve(name + OPEN_SUFFIX);
+        channel = FileChannel.open(activeSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        activeSince = System.currentTimeMillis();
+    }
+
+    private void sealActive() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        buffer.force();
+        channel.close();
+        boolean empty = buffer.position() == 0;
+        buffer = null;
+        channel = null;
+        if (empty) {
+            Files.deleteIfExists(activeSegment);
+        } else {
+            seal(activeSegment);
+        }
+        activeSegment = null;
+    }
+
+    private void seal(Path open) throws IOException {
+        String fileName = open.getFileName().toString();
+        Path sealed = open.resolveSibling(fileName.substring(0, fileName.length() - OPEN_SUFFIX.length()) + SEALED_SUFFIX);
+        Files.move(open, sealed, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
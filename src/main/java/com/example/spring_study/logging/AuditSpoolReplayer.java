@@ -0,0 +1,130 @@
+package com.example.spring_study.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ships sealed spool segments into {@code log_entry}. The entries and a row in
+ * {@code audit_spool_segment} are written in one transaction, and a segment that already has a
+ * row is only deleted, so each segment is applied exactly once even if the process dies between
+ * the commit and the file removal.
+ * <p>
+ * A segment that fails while the database is reachable is skipped for this run, and after
+ * {@code maxAttempts} failures it is quarantined, so one bad segment never holds back the rest.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.sink", havingValue = "SPOOL")
+public class AuditSpoolReplayer {
+    private static final Logger logger = LoggerFactory.getLogger(AuditSpoolReplayer.class);
+
+    private final AuditSpool spool;
+    private final LogEntryWriter entryWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditPartitionManager partitionManager;
+    private final int maxAttempts;
+    // Only touched by the scheduled replay, which never overlaps itself
+    private final Map<String, Integer> failedAttempts = new HashMap<>();
+
+    public AuditSpoolReplayer(AuditSpool spool, LogEntryWriter entryWriter, JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate, ObjectProvider<AuditPartitionManager> partitionManager,
+                              @Value("${app.audit.spool.max-replay-attempts:5}") int maxAttempts) {
+        this.spool = spool;
+        this.entryWriter = entryWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionManager = partitionManager.getIfAvailable();
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.spool.replay-interval-ms:5000}")
+    public void replay() {
+        try {
+            spool.sealIfIdle();
+            for (Path segment : spool.sealedSegments()) {
+                try {
+                    replaySegment(segment);
+                    failedAttempts.remove(segment.getFileName().toString());
+                } catch (DataAccessException e) {
+                    if (!databaseReachable()) {
+                        // The database is still unavailable; the segments stay on disk for the next run
+                        logger.warn("Audit spool replay postponed: {}", e.getMessage());
+                        return;
+                    }
+                    recordFailure(segment, e);
+                } catch (IOException | RuntimeException e) {
+                    recordFailure(segment, e);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Unable to read the audit spool", e);
+        }
+    }
+
+    private void recordFailure(Path segment, Exception e) {
+        String name = segment.getFileName().toString();
+        int attempts = failedAttempts.merge(name, 1, Integer::sum);
+        if (attempts < maxAttempts) {
+            logger.error("Unable to replay spool segment {} (attempt {} of {})", name, attempts, maxAttempts, e);
+            return;
+        }
+        failedAttempts.remove(name);
+        try {
+            Path quarantined = spool.quarantine(segment);
+            logger.error("Quarantined spool segment {} as {} after {} failed attempts", name, quarantined.getFileName(), attempts, e);
+        } catch (IOException moveFailure) {
+            logger.error("Unable to quarantine spool segment {}", name, moveFailure);
+        }
+    }
+
+    private boolean databaseReachable() {
+        try {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    private void replaySegment(Path segment) throws IOException {
+        String name = segment.getFileName().toString();
+        List<LogEntry> entries = spool.read(segment);
+        // Segments can be older than the premade partitions, e.g. after a long outage
+        if (partitionManager != null) {
+            partitionManager.ensureCovered(entries);
+        }
+
+        Boolean applied = transactionTemplate.execute(status -> {
+            int claimed = jdbcTemplate.update("INSERT INTO audit_spool_segment (segment_name, entries, replayed_at) " +
+                    "VALUES (?, ?, ?) ON CONFLICT (segment_name) DO NOTHING", name, entries.size(), LocalDateTime.now());
+            if (claimed == 0) {
+                return false;
+            }
+            entryWriter.insert(entries);
+            return true;
+        });
+
+        Files.delete(segment);
+        if (Boolean.TRUE.equals(applied)) {
+            logger.info("Replayed {} audit entries from spool segment {}", entries.size(), name);
+        } else {
+            logger.info("Spool segment {} was already replayed, removed it", name);
+        }
+    }
+}
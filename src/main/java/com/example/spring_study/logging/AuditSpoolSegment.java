@@ -0,0 +1,28 @@
+package com.example.spring_study.logging;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "audit_spool_segment")
+public class AuditSpoolSegment {
+    @Id
+    @Column(name = "segment_name")
+    private String segmentName;
+
+    @Column(nullable = false)
+    private Integer entries;
+
+    @Column(name = "replayed_at", nullable = false)
+    private LocalDateTime replayedAt;
+}
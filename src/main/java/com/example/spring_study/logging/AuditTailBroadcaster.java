@@ -0,0 +1,209 @@
+package com.example.spring_study.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams entries from {@link AuditTailBuffer} to SSE subscribers. Every subscriber reads the ring
+ * at its own pace on a small sender pool, so a slow client only delays itself: while it is busy
+ * writing, its ticks are skipped, and once it falls a full ring behind it is moved forward and told
+ * how many entries it missed with a {@code skipped} event.
+ */
+@Component
+public class AuditTailBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(AuditTailBroadcaster.class);
+    private static final int MAX_EVENTS_PER_SEND = 256;
+
+    private final AuditTailBuffer buffer;
+    private final int maxSubscribers;
+    private final long pollIntervalMs;
+    private final long heartbeatMs;
+    private final long timeoutMs;
+    private final int senderThreads;
+    private final Set<Subscription> subscriptions = new CopyOnWriteArraySet<>();
+    // Slots are reserved before the emitter exists, so concurrent subscribes cannot pass the limit
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    private ScheduledExecutorService ticker;
+    private ExecutorService senders;
+
+    public AuditTailBroadcaster(AuditTailBuffer buffer,
+                                @Value("${app.audit.tail.max-subscribers:16}") int maxSubscribers,
+                                @Value("${app.audit.tail.poll-interval-ms:250}") long pollIntervalMs,
+                                @Value("${app.audit.tail.heartbeat-ms:15000}") long heartbeatMs,
+                                @Value("${app.audit.tail.timeout-ms:1800000}") long timeoutMs,
+                                @Value("${app.audit.tail.sender-threads:4}") int senderThreads) {
+        this.buffer = buffer;
+        this.maxSubscribers = maxSubscribers;
+        this.pollIntervalMs = pollIntervalMs;
+        this.heartbeatMs = heartbeatMs;
+        this.timeoutMs = timeoutMs;
+        this.senderThreads = senderThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "audit-tail-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-tail-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::dispatch, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.forEach(subscription -> {
+            remove(subscription);
+            subscription.emitter.complete();
+        });
+    }
+
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @param lastEventId sequence of the last entry the client saw, to resume after a reconnect
+     * @return the emitter for the new stream, or {@code null} when all subscriber slots are taken
+     */
+    public SseEmitter subscribe(String userName, String action, LogLevel level, Long lastEventId) {
+        if (!reserveSlot()) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        long from = lastEventId != null ? Math.min(lastEventId + 1, buffer.nextSequence()) : buffer.nextSequence();
+        Subscription subscription = new Subscription(emitter, userName, action, level, from);
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(error -> remove(subscription));
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = reserved.get();
+            if (current >= maxSubscribers) {
+                return false;
+            }
+            if (reserved.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Several callbacks can fire for one stream; only the one that removes it gives the slot back
+    private void remove(Subscription subscription) {
+        if (subscriptions.remove(subscription)) {
+            reserved.decrementAndGet();
+        }
+    }
+
+    private void dispatch() {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.busy.compareAndSet(false, true)) {
+                senders.execute(() -> {
+                    try {
+                        send(subscription);
+                    } finally {
+                        subscription.busy.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    private void send(Subscription subscription) {
+        List<AuditTailBuffer.Slot> slots = new ArrayList<>(MAX_EVENTS_PER_SEND);
+        long from = subscription.nextSequence;
+        long next = buffer.read(from, MAX_EVENTS_PER_SEND, slots);
+        long skipped = next - from - slots.size();
+        subscription.nextSequence = next;
+
+        try {
+            boolean sent = false;
+            if (skipped > 0) {
+                subscription.emitter.send(SseEmitter.event().name("skipped").data(skipped));
+                sent = true;
+            }
+            for (AuditTailBuffer.Slot slot : slots) {
+                if (subscription.matches(slot.entry())) {
+                    subscription.emitter.send(SseEmitter.event()
+                            .id(Long.toString(slot.sequence()))
+                            .name("entry")
+                            .data(slot.entry()));
+                    sent = true;
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            if (sent) {
+                subscription.lastSentAt = now;
+            } else if (now - subscription.lastSentAt >= heartbeatMs) {
+                // Lets idle clients and proxies see the stream is alive, and finds disconnected clients
+                subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+                subscription.lastSentAt = now;
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Audit tail subscriber disconnected: {}", e.getMessage());
+            remove(subscription);
+            subscription.emitter.completeWithError(e);
+        }
+    }
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final String userName;
+        private final String action;
+        private final LogLevel level;
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private volatile long nextSequence;
+        private volatile long lastSentAt = System.currentTimeMillis();
+
+        private Subscription(SseEmitter emitter, String userName, String action, LogLevel level, long nextSequence) {
+            this.emitter = emitter;
+            this.userName = userName;
+            this.action = action;
+            this.level = level;
+            this.nextSequence = nextSequence;
+        }
+
+        private boolean matches(LogEntry entry) {
+            return (userName == null || userName.equals(entry.getUserName()))
+                    && (action == null || action.equals(entry.getAction()))
+                    && (level == null || level == entry.getLevel());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.spring_study.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent audit entries for live tailing. Producers claim a sequence
+ * number and overwrite the slot it maps to, so publishing never blocks or allocates more than the
+ * slot itself. Readers keep their own sequence; a reader that falls more than a full ring behind
+ * skips ahead to the oldest entry still held.
+ */
+@Component
+public class AuditTailBuffer {
+    private final AtomicReferenceArray<Slot> slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public AuditTailBuffer(@Value("${app.audit.tail.capacity:4096}") int capacity) {
+        // Round up to a power of two so a sequence maps to its slot with a mask
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void publish(LogEntry entry) {
+        long sequence = nextSequence.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot(sequence, entry));
+    }
+
+    /**
+     * @return the sequence the next published entry will get
+     */
+    public long nextSequence() {
+        return nextSequence.get();
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Copies up to {@code max} entries starting at {@code from} into {@code target}.
+     *
+     * @return the sequence to read from next time; it is past {@code from + target.size()} when
+     * entries were overwritten before they could be read
+     */
+    public long read(long from, int max, List<Slot> target) {
+        long sequence = Math.max(from, nextSequence.get() - slots.length());
+        while (target.size() < max) {
+            Slot slot = slots.get((int) (sequence & mask));
+            if (slot == null || slot.sequence() < sequence) {
+                // Claimed but not written yet, or nothing newer has been published
+                break;
+            }
+            if (slot.sequence() > sequence) {
+                // Overwritten while we were reading; the ring has moved on
+                sequence = nextSequence.get() - slots.length();
+                continue;
+            }
+            target.add(slot);
+            sequence++;
+        }
+        return sequence;
+    }
+
+    public record Slot(long sequence, LogEntry entry) {
+    }
+}
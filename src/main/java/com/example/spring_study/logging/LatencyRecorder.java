@@ -0,0 +1,125 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.model.payload.LatencyStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps a rolling latency histogram per controller endpoint and outcome. Time is split into
+ * fixed slices held in a ring; a slice is swapped for a fresh one with a CAS when its slot is
+ * reused, so recording never takes a lock.
+ */
+@Component
+public class LatencyRecorder {
+    public static final String SUCCESS = "SUCCESS";
+
+    private final Map<EndpointKey, RollingHistogram> histograms = new ConcurrentHashMap<>();
+    private final long sliceMillis;
+    private final int sliceCount;
+
+    public LatencyRecorder(@Value("${app.audit.latency.slice-seconds:60}") int sliceSeconds,
+                           @Value("${app.audit.latency.slice-count:16}") int sliceCount) {
+        this.sliceMillis = TimeUnit.SECONDS.toMillis(sliceSeconds);
+        this.sliceCount = sliceCount;
+    }
+
+    public void record(String endpoint, String outcome, long elapsedNanos) {
+        histograms.computeIfAbsent(new EndpointKey(endpoint, outcome), key -> new RollingHistogram(sliceCount))
+                .record(System.currentTimeMillis() / sliceMillis, TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    public long getMaxWindowSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(sliceMillis * (sliceCount - 1));
+    }
+
+    public List<LatencyStatsResponse> snapshot(long windowSeconds) {
+        long now = System.currentTimeMillis();
+        long currentEpoch = now / sliceMillis;
+        long windowSlices = Math.max(1, Math.min(sliceCount - 1, TimeUnit.SECONDS.toMillis(windowSeconds) / sliceMillis));
+        long oldestEpoch = currentEpoch - windowSlices;
+        // The window is made of whole past slices plus the part of the current one that has elapsed
+        double coveredSeconds = (now - oldestEpoch * sliceMillis) / 1000.0;
+
+        List<LatencyStatsResponse> result = new ArrayList<>();
+        histograms.forEach((key, rolling) -> {
+            long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+            long total = 0;
+            long max = 0;
+            for (int i = 0; i < sliceCount; i++) {
+                Slice slice = rolling.slices.get(i);
+                if (slice == null || slice.epoch < oldestEpoch || slice.epoch > currentEpoch) {
+                    continue;
+                }
+                slice.histogram.addTo(counts);
+                total += slice.histogram.getTotalCount();
+                max = Math.max(max, slice.histogram.getMaxValue());
+            }
+            if (total == 0) {
+                return;
+            }
+
+            result.add(new LatencyStatsResponse(
+                    key.endpoint(),
+                    key.outcome(),
+                    windowSeconds,
+                    total,
+                    total / coveredSeconds,
+                    toMillis(LatencyHistogram.valueAtPercentile(counts, total, 50)),
+                    toMillis(LatencyHistogram.valueAtPercentile(counts, total, 90)),
+                    toMillis(LatencyHistogram.valueAtPercentile(counts, total, 99)),
+                    toMillis(LatencyHistogram.valueAtPercentile(counts, total, 99.9)),
+                    toMillis(max)
+            ));
+        });
+        result.sort(Comparator.comparing(LatencyStatsResponse::getEndpoint).thenComparing(LatencyStatsResponse::getOutcome));
+        return result;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private record EndpointKey(String endpoint, String outcome) {
+    }
+
+    private static final class Slice {
+        final long epoch;
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Slice(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    private static final class RollingHistogram {
+        final AtomicReferenceArray<Slice> slices;
+
+        RollingHistogram(int sliceCount) {
+            this.slices = new AtomicReferenceArray<>(sliceCount);
+        }
+
+        void record(long epoch, long micros) {
+            int index = (int) (epoch % slices.length());
+            Slice slice = slices.get(index);
+            while (slice == null || slice.epoch < epoch) {
+                Slice fresh = new Slice(epoch);
+                if (slices.compareAndSet(index, slice, fresh)) {
+                    slice = fresh;
+                } else {
+                    slice = slices.get(index);
+                }
+            }
+            if (slice.epoch == epoch) {
+                slice.histogram.record(micros);
+            }
+        }
+    }
+}
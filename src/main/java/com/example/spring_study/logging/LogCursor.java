@@ -0,0 +1,38 @@
+package com.example.spring_study.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page of audit entries, ordered by {@code (timestamp, id)}
+ * descending. It is handed to clients as an opaque URL-safe token.
+ */
+public record LogCursor(LocalDateTime timestamp, long id) {
+
+    public static LogCursor of(LogEntry entry) {
+        return new LogCursor(entry.getTimestamp(), entry.getId());
+    }
+
+    public String encode() {
+        String raw = timestamp + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} if the token was not produced by {@link #encode()}
+     */
+    public static LogCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(',');
+            if (separator < 0) {
+                return null;
+            }
+            return new LogCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
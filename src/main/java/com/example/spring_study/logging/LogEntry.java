@@ -1,8 +1,10 @@
 package com.example.spring_study.logging;
 
 import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.logging.LogLevel;
 
 import java.time.LocalDateTime;
@@ -11,6 +13,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class LogEntry {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -46,6 +50,10 @@ public class LogEntry {
     @Column(columnDefinition = "TEXT")
     private String result;
 
+    // Only set on rows written before stack traces were fingerprinted
     @Column(columnDefinition = "TEXT")
     private String stackTrace;
+
+    @Column(name = "stack_trace_fingerprint", length = 64)
+    private String stackTraceFingerprint;
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.example.spring_study.logging;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Streams audit entries into {@code log_entry} with {@code COPY ... FROM STDIN} in CSV format. Rows
+ * are encoded into a fixed buffer that is handed to the driver whenever it fills up, so a large
+ * flush never holds the whole CSV in memory, and the server parses one stream instead of one
+ * statement per row.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.writer.mode", havingValue = "COPY")
+public class LogEntryCopyWriter implements LogEntryWriter {
+    private static final String COPY_SQL = "COPY log_entry " +
+            "(timestamp, level, method, message, action, execution_time, user_name, ip_address, parameters, result, stack_trace, stack_trace_fingerprint) " +
+            "FROM STDIN WITH (FORMAT csv)";
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final DataSource dataSource;
+
+    public LogEntryCopyWriter(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void insert(List<LogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        // Goes through DataSourceUtils so the spool replay transaction covers the COPY as well
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        CopyIn copyIn = null;
+        try {
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            CsvChunk chunk = new CsvChunk(copyIn);
+            for (LogEntry entry : entries) {
+                chunk.value(entry.getTimestamp() != null ? entry.getTimestamp().toString() : null).separator();
+                chunk.value(entry.getLevel() != null ? entry.getLevel().name() : null).separator();
+                chunk.value(entry.getMethod()).separator();
+                chunk.value(entry.getMessage()).separator();
+                chunk.value(entry.getAction()).separator();
+                chunk.value(entry.getExecutionTimeMs() != null ? entry.getExecutionTimeMs().toString() : null).separator();
+                chunk.value(entry.getUserName()).separator();
+                chunk.value(entry.getIpAddress()).separator();
+                chunk.value(entry.getParameters()).separator();
+                chunk.value(entry.getResult()).separator();
+                chunk.value(entry.getStackTrace()).separator();
+                chunk.value(entry.getStackTraceFingerprint()).endRow();
+            }
+            chunk.flush();
+            copyIn.endCopy();
+        } catch (SQLException e) {
+            cancel(copyIn);
+            throw new DataAccessResourceFailureException("COPY into log_entry failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void cancel(CopyIn copyIn) {
+        try {
+            if (copyIn != null && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        } catch (SQLException ignored) {
+            // The connection is returned to the pool either way
+        }
+    }
+
+    /**
+     * CSV encoder over a reusable byte buffer. Every non-null value is quoted, which keeps it
+     * apart from an unquoted empty field, the CSV spelling of NULL.
+     */
+    private static final class CsvChunk {
+        private final CopyIn copyIn;
+        private final byte[] buffer = new byte[CHUNK_BYTES];
+        private int position;
+
+        private CsvChunk(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        CsvChunk value(String value) throws SQLException {
+            if (value == null) {
+                return this;
+            }
+            put('"');
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            for (byte b : bytes) {
+                if (b == '"') {
+                    put('"');
+                }
+                put(b);
+            }
+            put('"');
+            return this;
+        }
+
+        CsvChunk separator() throws SQLException {
+            put(',');
+            return this;
+        }
+
+        CsvChunk endRow() throws SQLException {
+            put('\n');
+            return this;
+        }
+
+        void flush() throws SQLException {
+            if (position > 0) {
+                copyIn.writeToCopy(buffer, 0, position);
+                position = 0;
+            }
+        }
+
+        private void put(int b) throws SQLException {
+            if (position == buffer.length) {
+                flush();
+            }
+            buffer[position++] = (byte) b;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.spring_study.logging;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Writes audit entries with plain JDBC batches. The id column is left to the database identity,
+ * so the batch is not broken up the way Hibernate does for {@code GenerationType.IDENTITY}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.writer.mode", havingValue = "BATCH", matchIfMissing = true)
+public class LogEntryJdbcWriter implements LogEntryWriter {
+    private static final String INSERT_SQL = "INSERT INTO log_entry " +
+            "(timestamp, level, method, message, action, execution_time, user_name, ip_address, parameters, result, stack_trace, stack_trace_fingerprint) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LogEntryJdbcWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insert(List<LogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, Math.min(entries.size(), MAX_BATCH_SIZE), (ps, entry) -> {
+            ps.setObject(1, entry.getTimestamp());
+            ps.setString(2, entry.getLevel() != null ? entry.getLevel().name() : null);
+            ps.setString(3, entry.getMethod());
+            ps.setString(4, entry.getMessage());
+            ps.setString(5, entry.getAction());
+            ps.setObject(6, entry.getExecutionTimeMs(), Types.BIGINT);
+            ps.setString(7, entry.getUserName());
+            ps.setString(8, entry.getIpAddress());
+            ps.setString(9, entry.getParameters());
+            ps.setString(10, entry.getResult());
+            ps.setString(11, entry.getStackTrace());
+            ps.setString(12, entry.getStackTraceFingerprint());
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.spring_study.logging;
+
+import java.util.List;
+
+/**
+ * Bulk path into {@code log_entry}, picked with {@code app.audit.writer.mode}. Implementations join
+ * the surrounding Spring transaction when there is one.
+ */
+public interface LogEntryWriter {
+    void insert(List<LogEntry> entries);
+}
@@ -0,0 +1,56 @@
+package com.example.spring_study.logging;
+
+import java.util.function.Function;
+
+/**
+ * State of a single controller invocation. It is created on the request thread before the call
+ * proceeds and carried by the around-advice itself, so concurrent, virtual-thread or async
+ * invocations never see each other's timing or arguments.
+ */
+public final class OperationContext {
+    private final long startNanos;
+    private final Object[] args;
+    private final String userName;
+    private final String ipAddress;
+    private final String httpMethod;
+    private String serializedArgs;
+
+    private OperationContext(long startNanos, Object[] args, String userName, String ipAddress, String httpMethod) {
+        this.startNanos = startNanos;
+        this.args = args;
+        this.userName = userName;
+        this.ipAddress = ipAddress;
+        this.httpMethod = httpMethod;
+    }
+
+    public static OperationContext begin(Object[] args, String userName, String ipAddress, String httpMethod) {
+        return new OperationContext(System.nanoTime(), args, userName, ipAddress, httpMethod);
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    public String getArgsAsString(Function<Object[], String> serializer) {
+        if (serializedArgs == null) {
+            serializedArgs = serializer.apply(args);
+        }
+        return serializedArgs;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+}
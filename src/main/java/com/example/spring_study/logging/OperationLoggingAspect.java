@@ -1,108 +1,157 @@
 package com.example.spring_study.logging;
 
-import com.example.spring_study.repository.LogRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.spring_study.config.ClientIpResolver;
 import jakarta.servlet.http.HttpServletRequest;
 import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.logging.LogLevel;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 @Aspect
 @Component
 public class OperationLoggingAspect {
 
-    private final LogRepository logRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final LatencyRecorder latencyRecorder;
+    private final AuditPayloadEncoder payloadEncoder;
+    private final AuditSamplingPolicy samplingPolicy;
+    private final StackTraceFingerprinter fingerprinter;
+    private final AuditTailBuffer tailBuffer;
+    private final AuditTailBroadcaster tailBroadcaster;
+    private final OperationRollupAggregator rollupAggregator;
 
     private static final Logger logger = LoggerFactory.getLogger(OperationLoggingAspect.class);
-    private ObjectMapper objectMapper;
 
-    private long startTime;
-    private String requestBody;
-
-    public OperationLoggingAspect(LogRepository logRepository, ObjectMapper objectMapper) {
-        this.logRepository = logRepository;
-        this.objectMapper = objectMapper;
+    public OperationLoggingAspect(AuditLogWriter auditLogWriter, LatencyRecorder latencyRecorder,
+                                  AuditPayloadEncoder payloadEncoder, AuditSamplingPolicy samplingPolicy,
+                                  StackTraceFingerprinter fingerprinter, AuditTailBuffer tailBuffer,
+                                  AuditTailBroadcaster tailBroadcaster, OperationRollupAggregator rollupAggregator) {
+        this.auditLogWriter = auditLogWriter;
+        this.latencyRecorder = latencyRecorder;
+        this.payloadEncoder = payloadEncoder;
+        this.samplingPolicy = samplingPolicy;
+        this.fingerprinter = fingerprinter;
+        this.tailBuffer = tailBuffer;
+        this.tailBroadcaster = tailBroadcaster;
+        this.rollupAggregator = rollupAggregator;
     }
 
-    @Pointcut("execution(* com.example.spring_study.controllers..*.*(..)) && !@annotation(com.example.spring_study.logging.NoLogging)")
+    // Every controller call is timed; @NoLogging only opts a method out of the audit entry
+    @Pointcut("execution(* com.example.spring_study.controllers..*.*(..))")
     public void controllerMethods() {
     }
 
-    @Before("controllerMethods()")
-    public void beginOperation(JoinPoint joinPoint) {
-        startTime = System.currentTimeMillis();
-        requestBody = null;
-        requestBody = getArgsAsString(joinPoint.getArgs());
-    }
+    @Around("controllerMethods()")
+    public Object logOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Principal and request details are only reachable on the request thread, so capture them up front
+        HttpServletRequest request = getCurrentRequest();
+        OperationContext context = OperationContext.begin(joinPoint.getArgs(), getCurrentUserName(),
+                request != null ? ClientIpResolver.resolve(request) : null,
+                request != null ? request.getMethod() : null);
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            completeOperation(joinPoint, context, ex, null);
+            throw ex;
+        }
+
+        if (result instanceof CompletionStage<?> stage) {
+            // Async controllers finish when the stage completes, not when the method returns
+            stage.whenComplete((value, ex) -> completeOperation(joinPoint, context, ex != null ? unwrap(ex) : null, value));
+            return result;
+        }
 
-    @AfterReturning(pointcut = "controllerMethods()", returning = "result")
-    public void logOperation(JoinPoint joinPoint, Object result) {
-        createAndSaveLogEntry(joinPoint, LogLevel.INFO, null, result);
+        completeOperation(joinPoint, context, null, result);
+        return result;
     }
 
-    @AfterThrowing(pointcut = "controllerMethods()", throwing = "ex")
-    public void throwingOperation(JoinPoint joinPoint, Throwable ex) {
-        createAndSaveLogEntry(joinPoint, LogLevel.ERROR, ex, null);
+    private void completeOperation(JoinPoint joinPoint, OperationContext context, Throwable ex, Object result) {
+        long elapsedNanos = context.elapsedNanos();
+        latencyRecorder.record(joinPoint.getSignature().toShortString(),
+                ex != null ? ex.getClass().getSimpleName() : LatencyRecorder.SUCCESS,
+                elapsedNanos);
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        if (signature.getMethod().isAnnotationPresent(NoLogging.class)) {
+            return;
+        }
+
+        // Occurrence counters cover every failure, including the ones sampling leaves out
+        String fingerprint = ex != null ? fingerprinter.record(ex) : null;
+
+        String action = determineAction(signature.getName());
+        LogLevel level = ex != null ? LogLevel.ERROR : LogLevel.INFO;
+        rollupAggregator.record(signature.toString(), action, level, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+
+        String endpoint = signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+        boolean audited = samplingPolicy.shouldLog(endpoint, action, context.getHttpMethod(), ex, elapsedNanos);
+        // Live tail subscribers see every call, so the entry is still built for them when sampling skips it
+        if (!audited && !tailBroadcaster.hasSubscribers()) {
+            return;
+        }
+        createAndSaveLogEntry(joinPoint, context, action, level, ex, fingerprint, result, elapsedNanos, audited);
     }
 
-    private void createAndSaveLogEntry(JoinPoint joinPoint, LogLevel logLevel, Throwable ex, Object result) {
-        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = (authentication != null) ? authentication.getName() : "Anonymous";
-        String ipAddress = getClientIp(request);
+    private void createAndSaveLogEntry(JoinPoint joinPoint, OperationContext context, String action, LogLevel logLevel,
+                                       Throwable ex, String fingerprint, Object result, long elapsedNanos, boolean audited) {
+        long executionTimeMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        String parameters = context.getArgsAsString(payloadEncoder::encodeArgs);
 
         LogEntry logEntry = LogEntry.builder()
                 .timestamp(LocalDateTime.now())
                 .level(logLevel)
-                .userName(username)
-                .action(determineAction(joinPoint.getSignature().getName()))
+                .userName(context.getUserName())
+                .action(action)
                 .method(joinPoint.getSignature().toString())
-                .message(createLogMessage(joinPoint.getArgs(), result, ex))
-                .stackTrace(ex != null ? getStackTraceAsString(ex) : null)
-                .ipAddress(ipAddress)
-                .parameters(requestBody)
-                .executionTimeMs(System.currentTimeMillis() - startTime)
-                .result(result != null ? getObjAsString(result) : null)
+                .message(createLogMessage(parameters, ex))
+                .stackTraceFingerprint(fingerprint)
+                .ipAddress(context.getIpAddress())
+                .parameters(parameters)
+                .executionTimeMs(executionTimeMs)
+                .result(payloadEncoder.encodeResult(result))
                 .build();
 
+        tailBuffer.publish(logEntry);
+        if (!audited) {
+            return;
+        }
+
         if (result != null) {
             logger.info("Request received: {} {} from IP: {}", logEntry.getAction(), logEntry.getMethod(), logEntry.getIpAddress());
         } else if (ex != null) {
-            logger.error(logEntry.getStackTrace());
+            logger.error("{} failed, stack trace fingerprint {}", logEntry.getMethod(), fingerprint, ex);
         }
 
-        logRepository.save(logEntry);
+        auditLogWriter.submit(logEntry);
     }
 
-    private String getObjAsString(Object obj) {
-        if (obj == null) {
-            return null;
-        }
-        try {
-            return objectMapper.writeValueAsString(obj);
-        } catch (JsonProcessingException e) {
-            return "Unable to serialize response data";
-        }
+    private String getCurrentUserName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (authentication != null) ? authentication.getName() : "Anonymous";
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        String ipAddress = request.getHeader("X-Forwarded-For");
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getRemoteAddr();
+    private HttpServletRequest getCurrentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest();
         }
-        return ipAddress;
+        return null;
     }
 
     private String determineAction(String methodName) {
@@ -112,28 +161,18 @@ public class OperationLoggingAspect {
         return "GET";
     }
 
-    private String createLogMessage(Object[] args, Object result, Throwable ex) {
-        String message = "Args: " + getArgsAsString(args);
-        if (result != null) {
-            message += ", Result: " + result.toString();
-        }
+    private String createLogMessage(String parameters, Throwable ex) {
+        String message = "Args: " + parameters;
         if (ex != null) {
             message += ", Error: " + ex.getMessage();
         }
         return message;
     }
 
-    private String getArgsAsString(Object[] args) {
-        try {
-            return objectMapper.writeValueAsString(args);
-        } catch (JsonProcessingException e) {
-            return "Unable to serialize request data";
+    private Throwable unwrap(Throwable ex) {
+        if (ex instanceof CompletionException && ex.getCause() != null) {
+            return ex.getCause();
         }
-    }
-
-    private String getStackTraceAsString(Throwable ex) {
-        StringWriter sw = new StringWriter();
-        ex.printStackTrace(new PrintWriter(sw));
-        return sw.toString();
+        return ex;
     }
 }
@@ -0,0 +1,44 @@
+package com.example.spring_study.logging;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.logging.LogLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * One minute of calls to one method with one action and level. Rows are written by
+ * {@link OperationRollupAggregator} and outlive the raw {@code log_entry} partitions.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(OperationRollupId.class)
+@Table(name = "operation_rollup")
+public class OperationRollup {
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    private String method;
+
+    @Id
+    private String action;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private LogLevel level;
+
+    @Column(name = "request_count", nullable = false)
+    private Long requestCount;
+
+    @Column(name = "total_ms", nullable = false)
+    private Long totalMs;
+
+    @Column(name = "max_ms", nullable = false)
+    private Long maxMs;
+}
@@ -0,0 +1,109 @@
+package com.example.spring_study.logging;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps per-minute call counts and latency totals keyed by {@code (minute, method, action, level)}
+ * and periodically adds them into {@code operation_rollup}. Every controller call is counted, also
+ * the ones sampling leaves out of {@code log_entry}. The upsert adds to what is stored, so a
+ * minute may be flushed in several parts. What is still pending at shutdown is flushed on the way out.
+ */
+@Component
+public class OperationRollupAggregator {
+    private static final Logger logger = LoggerFactory.getLogger(OperationRollupAggregator.class);
+
+    private static final String UPSERT_SQL = "INSERT INTO operation_rollup " +
+            "(bucket_start, method, action, level, request_count, total_ms, max_ms) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (bucket_start, method, action, level) DO UPDATE SET " +
+            "request_count = operation_rollup.request_count + EXCLUDED.request_count, " +
+            "total_ms = operation_rollup.total_ms + EXCLUDED.total_ms, " +
+            "max_ms = GREATEST(operation_rollup.max_ms, EXCLUDED.max_ms)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<OperationRollupId, Totals> buckets = new ConcurrentHashMap<>();
+
+    public OperationRollupAggregator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(String method, String action, LogLevel level, long executionTimeMs) {
+        OperationRollupId key = new OperationRollupId(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES), method, action, level);
+        // Updating inside compute makes flush()'s remove hand over a bucket nobody writes to anymore
+        buckets.compute(key, (k, totals) -> (totals != null ? totals : new Totals()).add(executionTimeMs));
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.audit.rollup.flush-interval-ms:15000}")
+    public void flush() {
+        List<OperationRollupId> keys = new ArrayList<>();
+        List<Totals> drained = new ArrayList<>();
+        for (OperationRollupId key : buckets.keySet()) {
+            Totals totals = buckets.remove(key);
+            if (totals != null) {
+                keys.add(key);
+                drained.add(totals);
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            OperationRollupId key = keys.get(i);
+            Totals totals = drained.get(i);
+            rows.add(new Object[]{Timestamp.valueOf(key.getBucketStart()), key.getMethod(), key.getAction(),
+                    key.getLevel().name(), totals.count, totals.totalMs, totals.maxMs});
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        } catch (DataAccessException e) {
+            // Merge back so the next flush retries these minutes
+            for (int i = 0; i < keys.size(); i++) {
+                Totals failed = drained.get(i);
+                buckets.merge(keys.get(i), failed, Totals::merge);
+            }
+            logger.error("Unable to write {} operation rollups", rows.size(), e);
+        }
+    }
+
+    public int getPendingBuckets() {
+        return buckets.size();
+    }
+
+    // Only mutated inside ConcurrentHashMap.compute/merge for its key
+    static final class Totals {
+        long count;
+        long totalMs;
+        long maxMs;
+
+        Totals add(long executionTimeMs) {
+            count++;
+            totalMs += executionTimeMs;
+            maxMs = Math.max(maxMs, executionTimeMs);
+            return this;
+        }
+
+        Totals merge(Totals other) {
+            count += other.count;
+            totalMs += other.totalMs;
+            maxMs = Math.max(maxMs, other.maxMs);
+            return this;
+        }
+    }
+}
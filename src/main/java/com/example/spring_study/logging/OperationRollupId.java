@@ -0,0 +1,19 @@
+package com.example.spring_study.logging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.logging.LogLevel;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationRollupId implements Serializable {
+    private LocalDateTime bucketStart;
+    private String method;
+    private String action;
+    private LogLevel level;
+}
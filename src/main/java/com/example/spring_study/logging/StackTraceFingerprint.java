@@ -0,0 +1,38 @@
+package com.example.spring_study.logging;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stack_trace_fingerprint")
+public class StackTraceFingerprint {
+    @Id
+    @Column(length = 64)
+    private String fingerprint;
+
+    @Column(name = "exception_class", nullable = false)
+    private String exceptionClass;
+
+    // gzip of the printStackTrace text of the first occurrence
+    @Column(nullable = false)
+    private byte[] trace;
+
+    @Column(nullable = false)
+    private Long occurrences;
+
+    @Column(name = "first_seen", nullable = false)
+    private LocalDateTime firstSeen;
+
+    @Column(name = "last_seen", nullable = false)
+    private LocalDateTime lastSeen;
+}
@@ -0,0 +1,196 @@
+package com.example.spring_study.logging;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reduces a stack trace to a SHA-256 fingerprint of its exception classes and frames. Messages are
+ * left out and generated class suffixes are normalized, so the same failure always hashes the same.
+ * Only the first occurrence of a fingerprint renders and compresses the trace text; after that a
+ * failure just bumps an in-memory counter, and the counters are upserted into
+ * {@code stack_trace_fingerprint} on a fixed delay and once more on shutdown. At most
+ * {@code maxFingerprints} distinct traces are held in memory; a new trace beyond that is only
+ * counted as dropped, so a database outage or a burst of distinct failures cannot grow the map.
+ */
+@Component
+// Destroyed before the writer, so the traces are stored before its drain writes rows that reference them
+@DependsOn("auditLogWriter")
+public class StackTraceFingerprinter {
+    private static final Logger logger = LoggerFactory.getLogger(StackTraceFingerprinter.class);
+
+    // CGLIB proxies, lambdas and reflection accessors carry counters that change between runs
+    private static final Pattern GENERATED_SUFFIX = Pattern.compile("(\\$\\$SpringCGLIB\\$\\$|\\$\\$Lambda\\$?|GeneratedMethodAccessor)[0-9a-zA-Z/$.]*");
+
+    private static final String UPSERT_SQL = "INSERT INTO stack_trace_fingerprint " +
+            "(fingerprint, exception_class, trace, occurrences, first_seen, last_seen) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (fingerprint) DO UPDATE SET occurrences = stack_trace_fingerprint.occurrences + EXCLUDED.occurrences, " +
+            "last_seen = GREATEST(stack_trace_fingerprint.last_seen, EXCLUDED.last_seen)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxFingerprints;
+    private final Map<String, Occurrences> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public StackTraceFingerprinter(JdbcTemplate jdbcTemplate,
+                                   @Value("${app.audit.fingerprint.max-entries:10000}") int maxFingerprints) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    /**
+     * Counts one occurrence of {@code ex} and returns its fingerprint, or {@code null} when the trace
+     * is new and {@code maxFingerprints} traces are already held, since it would never be stored.
+     */
+    public String record(Throwable ex) {
+        String fingerprint = fingerprint(ex);
+        if (fingerprints.size() >= maxFingerprints && !fingerprints.containsKey(fingerprint)) {
+            dropped.incrementAndGet();
+            return null;
+        }
+        // Counting inside compute keeps it atomic with the eviction in flush()
+        fingerprints.compute(fingerprint, (key, occurrences) -> {
+            if (occurrences == null) {
+                occurrences = new Occurrences(ex.getClass().getName(), compress(render(ex)));
+            }
+            occurrences.pending.incrementAndGet();
+            occurrences.lastSeen = LocalDateTime.now();
+            return occurrences;
+        });
+        return fingerprint;
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.audit.fingerprint.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        List<Occurrences> flushed = new ArrayList<>();
+        fingerprints.forEach((fingerprint, occurrences) -> {
+            long count = occurrences.pending.getAndSet(0);
+            if (count > 0) {
+                Timestamp lastSeen = Timestamp.valueOf(occurrences.lastSeen);
+                rows.add(new Object[]{fingerprint, occurrences.exceptionClass, occurrences.trace, count,
+                        Timestamp.valueOf(occurrences.firstSeen), lastSeen});
+                flushed.add(occurrences);
+            }
+        });
+
+        if (!rows.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+            } catch (DataAccessException e) {
+                // Put the counts back so they go out with the next flush
+                for (int i = 0; i < rows.size(); i++) {
+                    flushed.get(i).pending.addAndGet((Long) rows.get(i)[3]);
+                }
+                logger.error("Unable to write {} stack trace fingerprints", rows.size(), e);
+                return;
+            }
+        }
+
+        // Fingerprints without pending counts are only a cache of compressed traces
+        if (fingerprints.size() > maxFingerprints) {
+            for (String fingerprint : fingerprints.keySet()) {
+                fingerprints.computeIfPresent(fingerprint,
+                        (key, occurrences) -> occurrences.pending.get() == 0 ? null : occurrences);
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getPendingFingerprints() {
+        return (int) fingerprints.values().stream().filter(occurrences -> occurrences.pending.get() > 0).count();
+    }
+
+    static String fingerprint(Throwable ex) {
+        StringBuilder normalized = new StringBuilder(1024);
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable current = ex; current != null && seen.add(current); current = current.getCause()) {
+            normalized.append(normalize(current.getClass().getName())).append('\n');
+            for (StackTraceElement frame : current.getStackTrace()) {
+                normalized.append(normalize(frame.getClassName())).append('.').append(frame.getMethodName())
+                        .append(':').append(frame.getLineNumber()).append('\n');
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String decompress(byte[] trace) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(trace))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Stored stack trace is not valid gzip", e);
+        }
+    }
+
+    static byte[] compress(String trace) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(trace.length() / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(trace.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String normalize(String className) {
+        return GENERATED_SUFFIX.matcher(className).replaceAll("$1");
+    }
+
+    private static String render(Throwable ex) {
+        StringWriter sw = new StringWriter();
+        ex.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    private static final class Occurrences {
+        private final String exceptionClass;
+        private final byte[] trace;
+        private final LocalDateTime firstSeen = LocalDateTime.now();
+        private final AtomicLong pending = new AtomicLong();
+        private volatile LocalDateTime lastSeen = firstSeen;
+
+        private Occurrences(String exceptionClass, byte[] trace) {
+            this.exceptionClass = exceptionClass;
+            this.trace = trace;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.spring_study.model;
 
+import com.example.spring_study.constant.IdSequence;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import lombok.Data;
@@ -16,7 +17,8 @@ import java.util.List;
 @EntityListeners(AuditingEntityListener.class)
 public class Borrowing {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequence.BORROWING)
+    @SequenceGenerator(name = IdSequence.BORROWING, sequenceName = IdSequence.BORROWING, allocationSize = IdSequence.ALLOCATION_SIZE)
     private Integer id;
     @Embedded
     private DateAudit dateAudit;
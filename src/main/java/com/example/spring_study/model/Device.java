@@ -1,5 +1,6 @@
 package com.example.spring_study.model;
 
+import com.example.spring_study.constant.IdSequence;
 import com.example.spring_study.constant.RateType;
 import com.example.spring_study.constant.Type;
 import jakarta.persistence.*;
@@ -18,7 +19,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @EntityListeners(AuditingEntityListener.class)
 public class Device {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequence.DEVICE)
+    @SequenceGenerator(name = IdSequence.DEVICE, sequenceName = IdSequence.DEVICE, allocationSize = IdSequence.ALLOCATION_SIZE)
     private Integer id;
     @NonNull
     private Type type;
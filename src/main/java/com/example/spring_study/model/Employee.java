@@ -1,5 +1,6 @@
 package com.example.spring_study.model;
 
+import com.example.spring_study.constant.IdSequence;
 import com.example.spring_study.validator.ValidPhoneNumber;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
@@ -17,7 +18,8 @@ import java.util.Set;
 @Table(name = "employee")
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequence.EMPLOYEE)
+    @SequenceGenerator(name = IdSequence.EMPLOYEE, sequenceName = IdSequence.EMPLOYEE, allocationSize = IdSequence.ALLOCATION_SIZE)
     private Integer id;
     @NonNull
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
@@ -35,12 +37,16 @@ public class Employee {
     @NonNull
     @Min(value = 0, message = "Account ballance cannot be null")
     private Double accountBalance;
-    @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    // Roles are reference data: no cascade, so detached roles from RoleRegistry are linked by id only
+    @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "employee_roles",
             joinColumns = @JoinColumn(name = "employee_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id")
     )
     private Set<Role> roles;
+    // Bumped whenever the employee changes; self-contained tokens carrying an older value are rejected
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0")
+    private int tokenVersion;
 
     public Employee(String userName, String password, String fullName, String address, String phoneNumber, Double accountBalance, Set<Role> roles) {
         this.userName = userName;
@@ -1,5 +1,6 @@
 package com.example.spring_study.model;
 
+import com.example.spring_study.constant.IdSequence;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -14,7 +15,8 @@ import lombok.NonNull;
 @Table(name = "roles")
 public class Role {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequence.ROLE)
+    @SequenceGenerator(name = IdSequence.ROLE, sequenceName = IdSequence.ROLE, allocationSize = IdSequence.ALLOCATION_SIZE)
     private int id;
     @NonNull
     @Size(min = 2, max = 50, message = "Role name must be between 2 and 50 characters")
@@ -0,0 +1,16 @@
+package com.example.spring_study.model.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditWriterStatsResponse {
+    private long enqueued;
+    private long flushed;
+    private long dropped;
+    private long failed;
+    private int queueDepth;
+}
@@ -0,0 +1,17 @@
+package com.example.spring_study.model.payload;
+
+import com.example.spring_study.constant.BulkItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBorrowingItemResult {
+    // Position of the item in the request, starting at 0
+    private int index;
+    private BulkItemStatus status;
+    private Integer borrowingId;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package com.example.spring_study.model.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBorrowingResponse {
+    private int created;
+    private int rejected;
+    private int failed;
+    private List<BulkBorrowingItemResult> results;
+}
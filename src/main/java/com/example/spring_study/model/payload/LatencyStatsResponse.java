@@ -0,0 +1,21 @@
+package com.example.spring_study.model.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyStatsResponse {
+    private String endpoint;
+    private String outcome;
+    private long windowSeconds;
+    private long count;
+    private double throughputPerSecond;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+}
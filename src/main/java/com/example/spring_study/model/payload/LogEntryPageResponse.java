@@ -0,0 +1,16 @@
+package com.example.spring_study.model.payload;
+
+import com.example.spring_study.logging.LogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogEntryPageResponse {
+    private List<LogEntry> entries;
+    private String nextCursor;
+}
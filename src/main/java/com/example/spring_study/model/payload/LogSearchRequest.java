@@ -0,0 +1,31 @@
+package com.example.spring_study.model.payload;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogSearchRequest {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    private String userName;
+    private String action;
+    private LogLevel level;
+    private String method;
+    @Min(value = 0, message = "minimum execution time can not be negative")
+    private Long minExecutionTimeMs;
+    private String cursor;
+    @Min(value = 1, message = "limit have to be above 1")
+    @Max(value = 500, message = "limit can not be above 500")
+    private int limit = 50;
+}
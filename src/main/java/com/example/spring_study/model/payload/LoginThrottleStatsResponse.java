@@ -0,0 +1,16 @@
+package com.example.spring_study.model.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginThrottleStatsResponse {
+    private int trackedUsers;
+    private int trackedAddresses;
+    private long allowed;
+    private long rejectedByUser;
+    private long rejectedByAddress;
+}
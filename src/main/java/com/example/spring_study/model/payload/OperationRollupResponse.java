@@ -0,0 +1,20 @@
+package com.example.spring_study.model.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationRollupResponse {
+    private LocalDateTime bucketStart;
+    private String method;
+    private String action;
+    private long requests;
+    private long errors;
+    private double averageMs;
+    private long maxMs;
+}
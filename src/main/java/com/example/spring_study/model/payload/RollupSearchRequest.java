@@ -0,0 +1,25 @@
+package com.example.spring_study.model.payload;
+
+import com.example.spring_study.constant.RollupResolution;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupSearchRequest {
+    @NotNull(message = "from is required")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @NotNull(message = "to is required")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    private String method;
+    private String action;
+    private RollupResolution resolution = RollupResolution.HOUR;
+}
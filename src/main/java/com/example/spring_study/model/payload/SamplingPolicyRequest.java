@@ -0,0 +1,23 @@
+package com.example.spring_study.model.payload;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class SamplingPolicyRequest {
+    @NotNull
+    private Map<String, @NotNull @DecimalMin("0.0") @DecimalMax("1.0") Double> actionRates;
+    @NotNull
+    private Map<String, @NotNull @DecimalMin("0.0") @DecimalMax("1.0") Double> endpointRates;
+    @NotNull
+    @Positive(message = "Slow threshold must be positive")
+    private Long slowThresholdMs;
+    private boolean alwaysLogErrors = true;
+}
@@ -0,0 +1,11 @@
+package com.example.spring_study.model.payload;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class SamplingPolicyResponse extends SamplingPolicyRequest {
+    private long logged;
+    private long skipped;
+}
@@ -0,0 +1,19 @@
+package com.example.spring_study.model.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StackTraceResponse {
+    private String fingerprint;
+    private String exceptionClass;
+    private long occurrences;
+    private LocalDateTime firstSeen;
+    private LocalDateTime lastSeen;
+    private String stackTrace;
+}
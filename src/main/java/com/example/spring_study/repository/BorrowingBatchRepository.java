@@ -0,0 +1,102 @@
+package com.example.spring_study.repository;
+
+import com.example.spring_study.constant.IdSequence;
+import com.example.spring_study.model.Borrowing;
+import com.example.spring_study.model.Device;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set-based reads and JDBC batch inserts for bulk borrowing creation, so a chunk of borrowings
+ * costs a handful of statements instead of a persist per borrowing and per device.
+ */
+@Repository
+public class BorrowingBatchRepository {
+    private static final String INSERT_BORROWING_SQL = "INSERT INTO borrowing " +
+            "(id, created_at, updated_at, hand_over_date, eviction_date, total_price, employee_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DEVICE_SQL = "INSERT INTO borrowing_devices (borrowing_id, devices_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BorrowingBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Set<Integer> findBorrowedDeviceIds(Collection<Integer> deviceIds) {
+        if (deviceIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT devices_id FROM borrowing_devices WHERE devices_id = ANY(?)",
+                Integer.class, (Object) deviceIds.toArray(new Integer[0])));
+    }
+
+    public Set<Integer> findEmployeesWithBorrowing(Collection<Integer> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT employee_id FROM borrowing WHERE employee_id = ANY(?)",
+                Integer.class, (Object) employeeIds.toArray(new Integer[0])));
+    }
+
+    /**
+     * Inserts the borrowings and their device rows as two batches and sets the ids on the given
+     * objects. Ids come from the borrowing sequence in pooled blocks, the same way Hibernate takes
+     * them, so the inserts need no generated keys and can be rewritten into multi-row statements by
+     * the driver. Runs in the caller's transaction.
+     */
+    public void insert(List<Borrowing> borrowings) {
+        if (borrowings.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = allocateIds(borrowings.size());
+        for (int i = 0; i < borrowings.size(); i++) {
+            borrowings.get(i).setId(ids.get(i));
+        }
+        jdbcTemplate.batchUpdate(INSERT_BORROWING_SQL, borrowings, borrowings.size(), (ps, borrowing) -> {
+            ps.setInt(1, borrowing.getId());
+            ps.setObject(2, borrowing.getDateAudit().getCreatedAt());
+            ps.setObject(3, borrowing.getDateAudit().getUpdatedAt());
+            ps.setObject(4, borrowing.getDateAudit().getHandOverDate());
+            ps.setObject(5, borrowing.getDateAudit().getEvictionDate());
+            ps.setDouble(6, borrowing.getTotalPrice());
+            ps.setInt(7, borrowing.getEmployee().getId());
+        });
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Borrowing borrowing : borrowings) {
+            for (Device device : borrowing.getDevices()) {
+                rows.add(new Object[]{borrowing.getId(), device.getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_DEVICE_SQL, rows);
+    }
+
+    private List<Integer> allocateIds(int count) {
+        int blocks = (count + IdSequence.ALLOCATION_SIZE - 1) / IdSequence.ALLOCATION_SIZE;
+        List<Long> upperBounds = jdbcTemplate.queryForList("SELECT nextval('" + IdSequence.BORROWING + "') " +
+                "FROM generate_series(1, ?)", Long.class, blocks);
+        return expandBlocks(upperBounds, count);
+    }
+
+    // Each value reserves the ALLOCATION_SIZE ids ending at it
+    static List<Integer> expandBlocks(List<Long> upperBounds, int count) {
+        List<Integer> ids = new ArrayList<>(count);
+        for (Long upperBound : upperBounds) {
+            for (long id = upperBound - IdSequence.ALLOCATION_SIZE + 1; id <= upperBound && ids.size() < count; id++) {
+                if (id > 0) {
+                    ids.add(Math.toIntExact(id));
+                }
+            }
+        }
+        if (ids.size() < count) {
+            throw new IllegalStateException("Sequence " + IdSequence.BORROWING + " returned too few ids for " + count + " borrowings");
+        }
+        return ids;
+    }
+}
@@ -4,27 +4,51 @@ import com.example.spring_study.constant.Type;
 import com.example.spring_study.model.Borrowing;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
+/**
+ * Borrowing listings are loaded in two steps: the {@code findIds*} queries page over ids only, and
+ * {@link #findAllWithAssociationsByIdIn} then loads that page together with the employee, the
+ * employee's roles and the devices in one statement. Fetching the collections on the paged query
+ * itself would make Hibernate paginate in memory. The device filters match through EXISTS so a
+ * borrowing with several matching devices still takes one row of the page and counts once.
+ */
 public interface BorrowingRepository extends JpaRepository<Borrowing, Integer> {
+    @Query("SELECT b.id FROM Borrowing b")
+    Page<Integer> findIds(Pageable pageable);
+
     //@Query("SELECT b FROM Borrowing b JOIN b.devices d WHERE d.itemName = :itemName")
-    @Query(value = "SELECT b.* FROM borrowing b " +
-            "JOIN borrowing_devices bd ON b.id = bd.borrowing_id " +
-            "JOIN device d ON bd.devices_id = d.id " +
-            "WHERE d.item_name = :itemName", nativeQuery = true)
-    Page<Borrowing> findByDeviceName(@Param("itemName") String itemName, Pageable pageable);
+    @Query(value = "SELECT b.id FROM borrowing b WHERE EXISTS (" +
+            "SELECT 1 FROM borrowing_devices bd JOIN device d ON bd.devices_id = d.id " +
+            "WHERE bd.borrowing_id = b.id AND d.item_name = :itemName) ORDER BY b.id",
+            countQuery = "SELECT COUNT(DISTINCT bd.borrowing_id) FROM borrowing_devices bd " +
+                    "JOIN device d ON bd.devices_id = d.id " +
+                    "WHERE d.item_name = :itemName", nativeQuery = true)
+    Page<Integer> findIdsByDeviceName(@Param("itemName") String itemName, Pageable pageable);
+
+    @Query("SELECT b.id FROM Borrowing b WHERE b.dateAudit.handOverDate BETWEEN :startDate AND :endDate")
+    Page<Integer> findIdsByHandOverDateBetween(@Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate, Pageable pageable);
 
-    Page<Borrowing> findByDateAudit_HandOverDateBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    @Query(value = "SELECT b.id FROM borrowing b WHERE EXISTS (" +
+            "SELECT 1 FROM borrowing_devices bd JOIN device d ON bd.devices_id = d.id " +
+            "WHERE bd.borrowing_id = b.id AND d.type = :type) ORDER BY b.id",
+            countQuery = "SELECT COUNT(DISTINCT bd.borrowing_id) FROM borrowing_devices bd " +
+                    "JOIN device d ON bd.devices_id = d.id " +
+                    "WHERE d.type = :type", nativeQuery = true)
+    Page<Integer> findIdsByDeviceType(@Param("type") Type type, Pageable pageable);
 
-    @Query(value = "SELECT b.* FROM borrowing b " +
-            "JOIN borrowing_devices bd ON b.id = bd.borrowing_id " +
-            "JOIN device d ON bd.devices_id = d.id " +
-            "WHERE d.type = :type", nativeQuery = true)
-    Page<Borrowing> findByDeviceType(@Param("type") Type type, Pageable pageable);
+    @Query("SELECT b.id FROM Borrowing b WHERE b.totalPrice = :totalPrice")
+    Page<Integer> findIdsByTotalPrice(@Param("totalPrice") double totalPrice, Pageable pageable);
 
-    Page<Borrowing> findByTotalPrice(double totalPrice, Pageable pageable);
+    @EntityGraph(attributePaths = {"employee", "employee.roles", "devices"})
+    @Query("SELECT DISTINCT b FROM Borrowing b WHERE b.id IN :ids")
+    List<Borrowing> findAllWithAssociationsByIdIn(@Param("ids") Collection<Integer> ids);
 }
@@ -2,9 +2,15 @@ package com.example.spring_study.repository;
 
 import com.example.spring_study.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
     Optional<Employee> findByUserName(String fullName);
+
+    // [userName, tokenVersion] pairs, without loading roles
+    @Query("SELECT e.userName, e.tokenVersion FROM Employee e")
+    List<Object[]> findAllTokenVersions();
 }
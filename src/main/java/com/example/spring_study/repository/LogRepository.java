@@ -2,6 +2,7 @@ package com.example.spring_study.repository;
 
 import com.example.spring_study.logging.LogEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-public interface LogRepository extends JpaRepository<LogEntry, Integer> {
+public interface LogRepository extends JpaRepository<LogEntry, Long>, JpaSpecificationExecutor<LogEntry> {
 }
@@ -0,0 +1,7 @@
+package com.example.spring_study.repository;
+
+import com.example.spring_study.logging.StackTraceFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StackTraceFingerprintRepository extends JpaRepository<StackTraceFingerprint, String> {
+}
@@ -5,11 +5,18 @@ import com.example.spring_study.model.payload.*;
 import org.springframework.data.domain.Page;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 
 public interface BorrowingService {
     public BorrowingResponse createBorrowing(BorrowingRequest request);
 
+    /**
+     * Creates borrowings in chunks, reporting a result per item; a {@code null} item stands for one
+     * that could not be parsed.
+     */
+    public BulkBorrowingResponse createBorrowings(Iterator<BorrowingRequest> requests);
+
     public BorrowingResponse updateBorrowing(int id, BorrowingRequest request);
 
     public boolean deleteBorrowing(int id);
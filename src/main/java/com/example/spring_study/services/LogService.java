@@ -0,0 +1,18 @@
+package com.example.spring_study.services;
+
+import com.example.spring_study.logging.LogCursor;
+import com.example.spring_study.model.payload.LogEntryPageResponse;
+import com.example.spring_study.model.payload.LogSearchRequest;
+import com.example.spring_study.model.payload.OperationRollupResponse;
+import com.example.spring_study.model.payload.RollupSearchRequest;
+import com.example.spring_study.model.payload.StackTraceResponse;
+
+import java.util.List;
+
+public interface LogService {
+    public LogEntryPageResponse searchLogs(LogSearchRequest request, LogCursor cursor);
+
+    public StackTraceResponse getStackTrace(String fingerprint);
+
+    public List<OperationRollupResponse> getRollups(RollupSearchRequest request);
+}
@@ -1,8 +1,13 @@
 package com.example.spring_study.services.impl;
 
 import com.example.spring_study.config.JwtTokenProvider;
+import com.example.spring_study.config.JwtTokenVerifier;
+import com.example.spring_study.config.LoginThrottle;
+import com.example.spring_study.config.TokenRevocationList;
 import com.example.spring_study.model.payload.LoginRequest;
 import com.example.spring_study.services.AuthService;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import lombok.AllArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,9 +20,15 @@ import org.springframework.stereotype.Service;
 public class AuthServiceImpl implements AuthService {
     private AuthenticationManager authenticationManager;
     private JwtTokenProvider jwtTokenProvider;
+    private LoginThrottle loginThrottle;
+    private JwtTokenVerifier jwtTokenVerifier;
+    private TokenRevocationList tokenRevocationList;
 
     @Override
-    public String login(LoginRequest request) {
+    public String login(LoginRequest request, String clientIp) {
+        // Refuse before the password check so throttled attempts cost no hashing
+        loginThrottle.acquire(request.getUserName(), clientIp);
+
         Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
                 request.getUserName(),
                 request.getPassword()
@@ -29,4 +40,26 @@ public class AuthServiceImpl implements AuthService {
 
         return token;
     }
+
+    @Override
+    public boolean logout(String token) {
+        if (token == null) {
+            return false;
+        }
+        JwtTokenVerifier.VerifiedToken verifiedToken;
+        try {
+            verifiedToken = jwtTokenVerifier.verify(token);
+        } catch (ExpiredJwtException e) {
+            // Already unusable, nothing left to revoke
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+        // Tokens issued before ids were added can only be dropped by bumping the employee's version
+        if (verifiedToken.id() == null) {
+            return false;
+        }
+        tokenRevocationList.revoke(verifiedToken.id(), verifiedToken.expiresAt());
+        return true;
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.spring_study.services.impl;
 
+import com.example.spring_study.constant.BulkItemStatus;
 import com.example.spring_study.constant.SortParam;
 import com.example.spring_study.constant.Type;
 import com.example.spring_study.exception.BorrowingNotFoundException;
@@ -10,22 +11,34 @@ import com.example.spring_study.model.Borrowing;
 import com.example.spring_study.model.Device;
 import com.example.spring_study.model.Employee;
 import com.example.spring_study.model.payload.*;
+import com.example.spring_study.repository.BorrowingBatchRepository;
 import com.example.spring_study.repository.BorrowingRepository;
 import com.example.spring_study.repository.DeviceRepository;
 import com.example.spring_study.repository.EmployeeRepository;
 import com.example.spring_study.services.BorrowingService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -38,6 +51,12 @@ public class BorrowingServiceImpl implements BorrowingService {
     private DeviceRepository deviceRepository;
     @Autowired
     private BorrowingMapper mapper;
+    @Autowired
+    private BorrowingBatchRepository borrowingBatchRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Value("${app.borrowing.bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
     @Override
     public BorrowingResponse createBorrowing(BorrowingRequest request) {
@@ -50,20 +69,7 @@ public class BorrowingServiceImpl implements BorrowingService {
             return null;
         }
 
-        List<Device> devices = new ArrayList<>();
-
-        for (int deviceId : request.getDevicesId()) {
-            Device device = deviceRepository.findById(deviceId)
-                    .orElseThrow(() -> {
-                        log.error("Device not found with id: {}", deviceId);
-                        return new DeviceNotFoundException(deviceId);
-                    });
-            if (device == null) {
-                continue;
-            }
-
-            devices.add(device);
-        }
+        List<Device> devices = resolveDevices(request.getDevicesId());
 
         if (devices.isEmpty()) {
             return null;
@@ -74,6 +80,121 @@ public class BorrowingServiceImpl implements BorrowingService {
         return response;
     }
 
+    @Override
+    public BulkBorrowingResponse createBorrowings(Iterator<BorrowingRequest> requests) {
+        List<BulkBorrowingItemResult> results = new ArrayList<>();
+        List<BorrowingRequest> chunk = new ArrayList<>(bulkChunkSize);
+        int offset = 0;
+        while (requests.hasNext()) {
+            chunk.add(requests.next());
+            if (chunk.size() >= bulkChunkSize || !requests.hasNext()) {
+                results.addAll(createChunk(offset, chunk));
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+
+        int created = 0;
+        int rejected = 0;
+        for (BulkBorrowingItemResult result : results) {
+            if (result.getStatus() == BulkItemStatus.CREATED) {
+                created++;
+            } else if (result.getStatus() == BulkItemStatus.REJECTED) {
+                rejected++;
+            }
+        }
+        return new BulkBorrowingResponse(created, rejected, results.size() - created - rejected, results);
+    }
+
+    // Validates a chunk against a few set-based lookups, then inserts the valid part in one transaction
+    private List<BulkBorrowingItemResult> createChunk(int offset, List<BorrowingRequest> chunk) {
+        Set<Integer> employeeIds = new HashSet<>();
+        Set<Integer> deviceIds = new HashSet<>();
+        for (BorrowingRequest request : chunk) {
+            if (request != null && request.getEmployeeId() != null && request.getDevicesId() != null) {
+                employeeIds.add(request.getEmployeeId());
+                request.getDevicesId().stream().filter(Objects::nonNull).forEach(deviceIds::add);
+            }
+        }
+
+        Map<Integer, Employee> employees = new HashMap<>();
+        employeeRepository.findAllById(employeeIds).forEach(employee -> employees.put(employee.getId(), employee));
+        Map<Integer, Device> devices = new HashMap<>();
+        deviceRepository.findAllById(deviceIds).forEach(device -> devices.put(device.getId(), device));
+        // Devices and employees already taken in the database or earlier in this request
+        Set<Integer> takenDevices = borrowingBatchRepository.findBorrowedDeviceIds(deviceIds);
+        Set<Integer> takenEmployees = borrowingBatchRepository.findEmployeesWithBorrowing(employeeIds);
+
+        BulkBorrowingItemResult[] results = new BulkBorrowingItemResult[chunk.size()];
+        List<Borrowing> accepted = new ArrayList<>();
+        List<Integer> acceptedPositions = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < chunk.size(); i++) {
+            String problem = validateBulkItem(chunk.get(i), employees, devices, takenDevices, takenEmployees);
+            if (problem != null) {
+                results[i] = new BulkBorrowingItemResult(offset + i, BulkItemStatus.REJECTED, null, problem);
+                continue;
+            }
+
+            BorrowingRequest request = chunk.get(i);
+            List<Device> borrowed = new LinkedHashSet<>(request.getDevicesId()).stream().map(devices::get).toList();
+            Borrowing borrowing = new Borrowing(employees.get(request.getEmployeeId()), new ArrayList<>(borrowed));
+            // Auditing callbacks only run for JPA saves
+            borrowing.getDateAudit().setCreatedAt(now);
+            borrowing.getDateAudit().setUpdatedAt(now);
+            borrowed.forEach(device -> takenDevices.add(device.getId()));
+            takenEmployees.add(request.getEmployeeId());
+            accepted.add(borrowing);
+            acceptedPositions.add(i);
+        }
+
+        BulkItemStatus status = BulkItemStatus.CREATED;
+        String message = null;
+        try {
+            transactionTemplate.executeWithoutResult(transaction -> borrowingBatchRepository.insert(accepted));
+        } catch (DataAccessException e) {
+            log.error("Unable to insert {} borrowings of a bulk request", accepted.size(), e);
+            status = BulkItemStatus.FAILED;
+            message = e.getMostSpecificCause().getMessage();
+        }
+        for (int j = 0; j < accepted.size(); j++) {
+            int i = acceptedPositions.get(j);
+            Integer borrowingId = status == BulkItemStatus.CREATED ? accepted.get(j).getId() : null;
+            results[i] = new BulkBorrowingItemResult(offset + i, status, borrowingId, message);
+        }
+        return List.of(results);
+    }
+
+    private String validateBulkItem(BorrowingRequest request, Map<Integer, Employee> employees, Map<Integer, Device> devices,
+                                    Set<Integer> takenDevices, Set<Integer> takenEmployees) {
+        if (request == null) {
+            return "Malformed borrowing request";
+        }
+        if (request.getEmployeeId() == null || request.getEmployeeId() < 0) {
+            return "There is no employee id that is negative";
+        }
+        if (request.getDevicesId() == null || request.getDevicesId().isEmpty() || request.getDevicesId().stream().anyMatch(Objects::isNull)) {
+            return "A borrowing needs at least one device id";
+        }
+        if (!employees.containsKey(request.getEmployeeId())) {
+            return new EmployeeNotFoundException(request.getEmployeeId()).getMessage();
+        }
+
+        Set<Integer> requested = new LinkedHashSet<>(request.getDevicesId());
+        List<Integer> missing = requested.stream().filter(deviceId -> !devices.containsKey(deviceId)).toList();
+        if (!missing.isEmpty()) {
+            return new DeviceNotFoundException(missing).getMessage();
+        }
+        List<Integer> taken = requested.stream().filter(takenDevices::contains).toList();
+        if (!taken.isEmpty()) {
+            return "Devices with IDs " + taken + " are already borrowed";
+        }
+        if (takenEmployees.contains(request.getEmployeeId())) {
+            return "Employee with ID " + request.getEmployeeId() + " already has a borrowing";
+        }
+        return null;
+    }
+
     @Override
     public BorrowingResponse updateBorrowing(int id, BorrowingRequest request) {
         Employee employee = employeeRepository.findById(request.getEmployeeId())
@@ -85,20 +206,7 @@ public class BorrowingServiceImpl implements BorrowingService {
             return null;
         }
 
-        List<Device> devices = new ArrayList<>();
-
-        for (int deviceId : request.getDevicesId()) {
-            Device device = deviceRepository.findById(deviceId)
-                    .orElseThrow(() -> {
-                        log.error("Device not found with id: {}", deviceId);
-                        return new DeviceNotFoundException(deviceId);
-                    });
-            if (device == null) {
-                continue;
-            }
-
-            devices.add(device);
-        }
+        List<Device> devices = resolveDevices(request.getDevicesId());
 
         if (devices.isEmpty()) {
             return null;
@@ -120,6 +228,29 @@ public class BorrowingServiceImpl implements BorrowingService {
         return mapper.borrowingToBorrowingResponse(borrowingRepository.save(borrowing));
     }
 
+    // Loads all requested devices with one query, keeping the request order and dropping repeated ids
+    private List<Device> resolveDevices(List<Integer> deviceIds) {
+        Set<Integer> ids = new LinkedHashSet<>(deviceIds);
+        ids.remove(null);
+
+        Map<Integer, Device> found = new HashMap<>();
+        for (Device device : deviceRepository.findAllById(ids)) {
+            found.put(device.getId(), device);
+        }
+
+        List<Integer> missing = ids.stream().filter(deviceId -> !found.containsKey(deviceId)).toList();
+        if (!missing.isEmpty()) {
+            log.error("Devices not found with ids: {}", missing);
+            throw new DeviceNotFoundException(missing);
+        }
+
+        List<Device> devices = new ArrayList<>(ids.size());
+        for (Integer deviceId : ids) {
+            devices.add(found.get(deviceId));
+        }
+        return devices;
+    }
+
     @Override
     public boolean deleteBorrowing(int id) {
         if (!borrowingRepository.existsById(id)) {
@@ -142,7 +273,7 @@ public class BorrowingServiceImpl implements BorrowingService {
     @Override
     public Page<BorrowingResponse> getAllBorrowing(BaseSearchRequest request) {
         Pageable pageable = PageRequest.of(request.getPageNumber(), request.getPageSize());
-        return mapper.borrowingPageToResponsePage(borrowingRepository.findAll(pageable));
+        return mapper.borrowingPageToResponsePage(withAssociations(borrowingRepository.findIds(pageable)));
     }
 
     @Override
@@ -156,13 +287,13 @@ public class BorrowingServiceImpl implements BorrowingService {
             }
         }
         Pageable pageable = PageRequest.of(request.getPageNumber(), request.getPageSize());
-        return mapper.borrowingPageToResponsePage(borrowingRepository.findAll(pageable));
+        return mapper.borrowingPageToResponsePage(withAssociations(borrowingRepository.findIds(pageable)));
     }
 
     @Override
     public Page<BorrowingResponse> findByDeviceName(String name, BaseSearchRequest request) {
         Pageable pageable = PageRequest.of(request.getPageNumber(), request.getPageSize());
-        Page<Borrowing> borrowings = borrowingRepository.findByDeviceName(name, pageable);
+        Page<Borrowing> borrowings = withAssociations(borrowingRepository.findIdsByDeviceName(name, pageable));
         if (borrowings.isEmpty()) {
             log.error("Cannot find borrowing with the name or the borrowing you looking for does not exist");
             return null;
@@ -174,7 +305,7 @@ public class BorrowingServiceImpl implements BorrowingService {
     @Override
     public Page<BorrowingResponse> findByHandOverDate(LocalDateTime startDate, LocalDateTime endDate, BaseSearchRequest request) {
         Pageable pageable = PageRequest.of(request.getPageNumber(), request.getPageSize());
-        Page<Borrowing> borrowings = borrowingRepository.findByDateAudit_HandOverDateBetween(startDate, endDate, pageable);
+        Page<Borrowing> borrowings = withAssociations(borrowingRepository.findIdsByHandOverDateBetween(startDate, endDate, pageable));
         if (borrowings.isEmpty()) {
             log.error("Cannot find borrowing with the startDate and endDate or the borrowing you looking for does not exist");
             return null;
@@ -186,7 +317,7 @@ public class BorrowingServiceImpl implements BorrowingService {
     @Override
     public Page<BorrowingResponse> findByDeviceType(Type type, BaseSearchRequest request) {
         Pageable pageable = PageRequest.of(request.getPageNumber(), request.getPageSize());
-        Page<Borrowing> borrowings = borrowingRepository.findByDeviceType(type, pageable);
+        Page<Borrowing> borrowings = withAssociations(borrowingRepository.findIdsByDeviceType(type, pageable));
         if (borrowings.isEmpty()) {
             log.error("Cannot find borrowing with the type given or the borrowing you looking for does not exist");
             return null;
@@ -198,7 +329,7 @@ public class BorrowingServiceImpl implements BorrowingService {
     @Override
     public Page<BorrowingResponse> findByTotalPrice(double totalPrice, BaseSearchRequest request) {
         Pageable pageable = PageRequest.of(request.getPageNumber(), request.getPageSize());
-        Page<Borrowing> borrowings = borrowingRepository.findByTotalPrice(totalPrice, pageable);
+        Page<Borrowing> borrowings = withAssociations(borrowingRepository.findIdsByTotalPrice(totalPrice, pageable));
         if (borrowings.isEmpty()) {
             log.error("Cannot find borrowing with the type given or the borrowing you looking for does not exist");
             return null;
@@ -207,6 +338,18 @@ public class BorrowingServiceImpl implements BorrowingService {
         return mapper.borrowingPageToResponsePage(borrowings);
     }
 
+    // Second step of a listing: loads the page's borrowings with everything the mapper touches, in page order
+    private Page<Borrowing> withAssociations(Page<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        Map<Integer, Borrowing> loaded = new HashMap<>();
+        borrowingRepository.findAllWithAssociationsByIdIn(new LinkedHashSet<>(ids.getContent()))
+                .forEach(borrowing -> loaded.put(borrowing.getId(), borrowing));
+        List<Borrowing> borrowings = ids.getContent().stream().map(loaded::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(borrowings, ids.getPageable(), ids.getTotalElements());
+    }
+
     @Override
     public List<BorrowingResponse> transferDevice(int borrowingIdFrom, int borrowingIdTo, int deviceId) {
         Borrowing existingBorrowing = borrowingRepository.findById(borrowingIdFrom)
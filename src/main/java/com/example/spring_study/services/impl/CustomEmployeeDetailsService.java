@@ -1,22 +1,22 @@
 package com.example.spring_study.services.impl;
 
+import com.example.spring_study.config.RoleRegistry;
 import com.example.spring_study.model.Employee;
 import com.example.spring_study.repository.EmployeeRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Service
 public class CustomEmployeeDetailsService implements UserDetailsService {
     private EmployeeRepository employeeRepository;
+    private RoleRegistry roleRegistry;
 
     @Override
     public UserDetails loadUserByUsername(String userName) throws UsernameNotFoundException {
@@ -24,9 +24,7 @@ public class CustomEmployeeDetailsService implements UserDetailsService {
         Employee employee = employeeRepository.findByUserName(userName)
                 .orElseThrow(() -> new UsernameNotFoundException("User not exists by Username or Email"));
 
-        Set<GrantedAuthority> authorities = employee.getRoles().stream()
-                .map((role) -> new SimpleGrantedAuthority(role.getName()))
-                .collect(Collectors.toSet());
+        Set<GrantedAuthority> authorities = roleRegistry.authoritiesOf(employee.getRoles());
 
         return new org.springframework.security.core.userdetails.User(
                 userName,
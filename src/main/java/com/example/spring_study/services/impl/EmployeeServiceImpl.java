@@ -1,6 +1,11 @@
 package com.example.spring_study.services.impl;
 
+import com.example.spring_study.config.BasicCredentialCache;
+import com.example.spring_study.config.RoleRegistry;
+import com.example.spring_study.config.TokenVersionRegistry;
+import com.example.spring_study.config.UserDetailsCache;
 import com.example.spring_study.exception.EmployeeNotFoundException;
+import com.example.spring_study.exception.PasswordHashingRejectedException;
 import com.example.spring_study.mapping.EmployeeMapper;
 import com.example.spring_study.model.Employee;
 import com.example.spring_study.model.Role;
@@ -8,7 +13,6 @@ import com.example.spring_study.model.payload.EmployeeRequest;
 import com.example.spring_study.model.payload.EmployeeResponse;
 import com.example.spring_study.model.payload.EmployeeResponseUpdate;
 import com.example.spring_study.repository.EmployeeRepository;
-import com.example.spring_study.repository.RoleRepository;
 import com.example.spring_study.services.EmployeeService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,25 +26,36 @@ import java.util.Set;
 @Service
 @Slf4j
 public class EmployeeServiceImpl implements EmployeeService {
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
     private EmployeeRepository employeeRepository;
     private PasswordEncoder passwordEncoder;
     private EmployeeMapper mapper;
+    private UserDetailsCache userDetailsCache;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private BasicCredentialCache basicCredentialCache;
 
-    public EmployeeServiceImpl(RoleRepository roleRepository, EmployeeRepository employeeRepository, PasswordEncoder passwordEncoder, EmployeeMapper mapper) {
-        this.roleRepository = roleRepository;
+    public EmployeeServiceImpl(RoleRegistry roleRegistry, EmployeeRepository employeeRepository, PasswordEncoder passwordEncoder, EmployeeMapper mapper, UserDetailsCache userDetailsCache, TokenVersionRegistry tokenVersionRegistry, BasicCredentialCache basicCredentialCache) {
+        this.roleRegistry = roleRegistry;
         this.employeeRepository = employeeRepository;
         this.passwordEncoder = passwordEncoder;
         this.mapper = mapper;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.basicCredentialCache = basicCredentialCache;
     }
 
     @Override
     public EmployeeResponse createEmployee(EmployeeRequest request) {
         try {
             String encodePassword = passwordEncoder.encode(request.getPassword());
-            Set<Role> roles = roleRepository.findByNameIn(request.getRoles());
+            Set<Role> roles = roleRegistry.resolve(request.getRoles());
             Employee employee = new Employee(request.getUserName(), encodePassword, request.getFullName(), request.getAddress(), request.getPhoneNumber(), request.getAccountBalance(), roles);
-            return mapper.toResponse(employeeRepository.save(employee));
+            Employee saved = employeeRepository.save(employee);
+            tokenVersionRegistry.put(saved.getUserName(), saved.getTokenVersion());
+            return mapper.toResponse(saved);
+        } catch (PasswordHashingRejectedException e) {
+            // Answered with 503 and Retry-After by the exception handler
+            throw e;
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -55,7 +70,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                 return new EmployeeNotFoundException(id);
             });
 
-            Set<Role> roles = roleRepository.findByNameIn(request.getRoles());
+            String previousUserName = employee.getUserName();
+            Set<Role> roles = roleRegistry.resolve(request.getRoles());
             employee.setUserName(request.getUserName());
             employee.setPassword(passwordEncoder.encode(request.getPassword()));
             employee.setFullName(request.getFullName());
@@ -63,10 +79,20 @@ public class EmployeeServiceImpl implements EmployeeService {
             employee.setPhoneNumber(request.getPhoneNumber());
             employee.setAccountBalance(request.getAccountBalance());
             employee.setRoles(roles);
+            // Tokens issued before this change stop being accepted in self-contained mode
+            employee.setTokenVersion(employee.getTokenVersion() + 1);
 
             EmployeeResponse response = mapper.toResponse(employeeRepository.save(employee));
+            // Evict after the save so a concurrent request can not cache the old roles again
+            userDetailsCache.invalidate(previousUserName);
+            userDetailsCache.invalidate(request.getUserName());
+            basicCredentialCache.invalidate(previousUserName);
+            tokenVersionRegistry.remove(previousUserName);
+            tokenVersionRegistry.put(request.getUserName(), employee.getTokenVersion());
 
             return (EmployeeResponseUpdate) response;
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -92,6 +118,10 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     @Override
     public void deleteEmployee(int id) {
+        String userName = employeeRepository.findById(id).map(Employee::getUserName).orElse(null);
         employeeRepository.deleteById(id);
+        userDetailsCache.invalidate(userName);
+        basicCredentialCache.invalidate(userName);
+        tokenVersionRegistry.remove(userName);
     }
 }
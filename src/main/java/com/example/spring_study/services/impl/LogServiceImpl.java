@@ -0,0 +1,130 @@
+package com.example.spring_study.services.impl;
+
+import com.example.spring_study.logging.LogCursor;
+import com.example.spring_study.logging.LogEntry;
+import com.example.spring_study.logging.StackTraceFingerprinter;
+import com.example.spring_study.model.payload.LogEntryPageResponse;
+import com.example.spring_study.model.payload.LogSearchRequest;
+import com.example.spring_study.model.payload.OperationRollupResponse;
+import com.example.spring_study.model.payload.RollupSearchRequest;
+import com.example.spring_study.model.payload.StackTraceResponse;
+import com.example.spring_study.repository.LogRepository;
+import com.example.spring_study.repository.StackTraceFingerprintRepository;
+import com.example.spring_study.services.LogService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class LogServiceImpl implements LogService {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "timestamp", "id");
+    // Levels are folded together; ERROR rows become the error count
+    private static final String ROLLUP_SQL = "SELECT date_trunc(?, bucket_start) AS bucket, method, action, " +
+            "SUM(request_count) AS requests, " +
+            "SUM(CASE WHEN level = 'ERROR' THEN request_count ELSE 0 END) AS errors, " +
+            "SUM(total_ms) AS total_ms, MAX(max_ms) AS max_ms " +
+            "FROM operation_rollup WHERE bucket_start >= ? AND bucket_start < ? " +
+            "AND (CAST(? AS VARCHAR) IS NULL OR method = ?) AND (CAST(? AS VARCHAR) IS NULL OR action = ?) " +
+            "GROUP BY bucket, method, action ORDER BY bucket, method, action";
+
+    private final LogRepository logRepository;
+    private final StackTraceFingerprintRepository fingerprintRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public LogServiceImpl(LogRepository logRepository, StackTraceFingerprintRepository fingerprintRepository,
+                          JdbcTemplate jdbcTemplate) {
+        this.logRepository = logRepository;
+        this.fingerprintRepository = fingerprintRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns one page of entries newest first. Instead of an offset the page starts right after
+     * {@code cursor}, so every page is a range scan on one of the {@code (..., timestamp, id)}
+     * indexes of {@code log_entry} no matter how deep the client has paged.
+     */
+    @Override
+    public LogEntryPageResponse searchLogs(LogSearchRequest request, LogCursor cursor) {
+        Specification<LogEntry> spec = Specification
+                .where(equalTo("userName", request.getUserName()))
+                .and(equalTo("action", request.getAction()))
+                .and(equalTo("level", request.getLevel()))
+                .and(equalTo("method", request.getMethod()))
+                .and(notBefore(request.getFrom()))
+                .and(before(request.getTo()))
+                .and(minExecutionTime(request.getMinExecutionTimeMs()))
+                .and(after(cursor));
+
+        // One extra row tells whether there is a next page without a count query
+        int limit = request.getLimit();
+        List<LogEntry> entries = logRepository.findBy(spec, query -> query.sortBy(NEWEST_FIRST).limit(limit + 1).all());
+
+        String nextCursor = null;
+        if (entries.size() > limit) {
+            entries = entries.subList(0, limit);
+            nextCursor = LogCursor.of(entries.get(limit - 1)).encode();
+        }
+        return new LogEntryPageResponse(entries, nextCursor);
+    }
+
+    @Override
+    public StackTraceResponse getStackTrace(String fingerprint) {
+        return fingerprintRepository.findById(fingerprint)
+                .map(stored -> new StackTraceResponse(stored.getFingerprint(), stored.getExceptionClass(),
+                        stored.getOccurrences(), stored.getFirstSeen(), stored.getLastSeen(),
+                        StackTraceFingerprinter.decompress(stored.getTrace())))
+                .orElse(null);
+    }
+
+    @Override
+    public List<OperationRollupResponse> getRollups(RollupSearchRequest request) {
+        return jdbcTemplate.query(ROLLUP_SQL, (rs, rowNum) -> {
+                    long requests = rs.getLong("requests");
+                    return new OperationRollupResponse(
+                            rs.getTimestamp("bucket").toLocalDateTime(),
+                            rs.getString("method"),
+                            rs.getString("action"),
+                            requests,
+                            rs.getLong("errors"),
+                            requests > 0 ? (double) rs.getLong("total_ms") / requests : 0.0,
+                            rs.getLong("max_ms"));
+                },
+                request.getResolution().name().toLowerCase(),
+                Timestamp.valueOf(request.getFrom()), Timestamp.valueOf(request.getTo()),
+                request.getMethod(), request.getMethod(), request.getAction(), request.getAction());
+    }
+
+    private static Specification<LogEntry> equalTo(String attribute, Object value) {
+        return value == null ? null : (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static Specification<LogEntry> notBefore(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("timestamp"), from);
+    }
+
+    private static Specification<LogEntry> before(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("timestamp"), to);
+    }
+
+    private static Specification<LogEntry> minExecutionTime(Long minExecutionTimeMs) {
+        return minExecutionTimeMs == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("executionTimeMs"), minExecutionTimeMs);
+    }
+
+    // timestamp <= :ts AND (timestamp < :ts OR id < :id): the first half bounds the index range scan
+    private static Specification<LogEntry> after(LogCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("timestamp"), cursor.timestamp()),
+                cb.or(
+                        cb.lessThan(root.get("timestamp"), cursor.timestamp()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
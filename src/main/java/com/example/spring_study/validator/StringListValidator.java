@@ -1,13 +1,18 @@
 package com.example.spring_study.validator;
 
+import com.example.spring_study.config.RoleRegistry;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public class StringListValidator implements ConstraintValidator<ValidateRole, Set<String>> {
-    private final Set<String> allowedValues = new HashSet<>(Set.of("ROLE_ADMIN", "ROLE_USER"));
+    // Spring creates the validator through the bean factory, so the registry is injected
+    private final RoleRegistry roleRegistry;
+
+    public StringListValidator(RoleRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
 
     @Override
     public boolean isValid(Set<String> value, ConstraintValidatorContext context) {
@@ -15,9 +20,9 @@ public class StringListValidator implements ConstraintValidator<ValidateRole, Se
             return false;
         }
 
-        boolean hasAllowedValue = value.stream().anyMatch(allowedValues::contains);
+        boolean hasAllowedValue = value.stream().anyMatch(roleRegistry::exists);
 
-        boolean hasInvalidValue = value.stream().anyMatch(v -> !allowedValues.contains(v));
+        boolean hasInvalidValue = value.stream().anyMatch(v -> !roleRegistry.exists(v));
 
         return hasAllowedValue && !hasInvalidValue;
     }
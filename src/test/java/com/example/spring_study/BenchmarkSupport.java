@@ -0,0 +1,95 @@
+package com.example.spring_study;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Shared harness for the JMH benchmarks and the database-backed tests gated with
+ * {@link EnabledIfBenchmark}. {@link #run} runs one benchmark class from its gated
+ * {@code *BenchmarkTests} class and hands the benchmark datasource on to the forked JVM;
+ * {@link #startApplication} boots the application against that datasource for benchmarks that need
+ * the database, and {@link #registerDatasource} does the same for a {@code @SpringBootTest}. Those
+ * write and delete rows, so they never fall back to the datasource from application.properties:
+ * point them at a scratch database with
+ * {@code -Dbenchmark=true -Dbenchmark.datasource.url=jdbc:postgresql://localhost:5432/scratch} (plus
+ * {@code benchmark.datasource.username} and {@code benchmark.datasource.password} if they differ).
+ */
+public final class BenchmarkSupport {
+    public static final String ENABLED = "benchmark";
+    public static final String DATASOURCE_URL = "benchmark.datasource.url";
+    public static final String DATASOURCE_USERNAME = "benchmark.datasource.username";
+    public static final String DATASOURCE_PASSWORD = "benchmark.datasource.password";
+
+    private BenchmarkSupport() {
+    }
+
+    public static void run(Class<?> benchmark) throws RunnerException {
+        List<String> jvmArgs = new ArrayList<>();
+        for (String property : List.of(DATASOURCE_URL, DATASOURCE_USERNAME, DATASOURCE_PASSWORD)) {
+            String value = System.getProperty(property);
+            if (value != null) {
+                jvmArgs.add("-D" + property + "=" + value);
+            }
+        }
+        new Runner(new OptionsBuilder()
+                .include(Pattern.quote(benchmark.getName()) + "\\.")
+                .jvmArgsAppend(jvmArgs.toArray(String[]::new))
+                .shouldFailOnError(true)
+                .build()).run();
+    }
+
+    public static ConfigurableApplicationContext startApplication(String... properties) {
+        String url = datasourceUrl();
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url,
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.com.example.spring_study=INFO",
+                "--logging.level.org.springframework.aop=INFO"));
+        String username = System.getProperty(DATASOURCE_USERNAME);
+        if (username != null) {
+            args.add("--spring.datasource.username=" + username);
+        }
+        String password = System.getProperty(DATASOURCE_PASSWORD);
+        if (password != null) {
+            args.add("--spring.datasource.password=" + password);
+        }
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return SpringApplication.run(SpringStudyApplication.class, args.toArray(String[]::new));
+    }
+
+    /**
+     * Points a {@code @SpringBootTest} at the benchmark datasource; call it from a
+     * {@code @DynamicPropertySource} method.
+     */
+    public static void registerDatasource(DynamicPropertyRegistry registry) {
+        String url = datasourceUrl();
+        registry.add("spring.datasource.url", () -> url);
+        String username = System.getProperty(DATASOURCE_USERNAME);
+        if (username != null) {
+            registry.add("spring.datasource.username", () -> username);
+        }
+        String password = System.getProperty(DATASOURCE_PASSWORD);
+        if (password != null) {
+            registry.add("spring.datasource.password", () -> password);
+        }
+    }
+
+    private static String datasourceUrl() {
+        String url = System.getProperty(DATASOURCE_URL);
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException(DATASOURCE_URL + " is not set; database benchmarks only run against a scratch database");
+        }
+        return url;
+    }
+}
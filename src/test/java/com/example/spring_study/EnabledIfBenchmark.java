@@ -0,0 +1,19 @@
+package com.example.spring_study;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps the benchmarks and the database-backed tests that write rows out of the regular build. They
+ * all run behind the one switch {@code -Dbenchmark=true}; see {@link BenchmarkSupport} for pointing
+ * them at a scratch database.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@EnabledIfSystemProperty(named = BenchmarkSupport.ENABLED, matches = "true")
+public @interface EnabledIfBenchmark {
+}
@@ -0,0 +1,93 @@
+package com.example.spring_study.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BasicCredentialCacheTests {
+    @Mock
+    private AuthenticationManager delegate;
+
+    private BasicCredentialCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BasicCredentialCache(true, 60_000, 100);
+    }
+
+    @Test
+    void testSecondAuthenticationIsServedFromCache() {
+        when(delegate.authenticate(any())).thenReturn(authenticated("John"));
+
+        cache.authenticate(request("John", "secret"), delegate);
+        Authentication second = cache.authenticate(request("John", "secret"), delegate);
+
+        assertTrue(second.isAuthenticated());
+        assertEquals("John", second.getName());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), List.copyOf(second.getAuthorities()));
+        verify(delegate, times(1)).authenticate(any());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testDifferentPasswordIsNotServedFromCache() {
+        when(delegate.authenticate(any())).thenReturn(authenticated("John"))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        cache.authenticate(request("John", "secret"), delegate);
+
+        assertThrows(BadCredentialsException.class, () -> cache.authenticate(request("John", "guess"), delegate));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testInvalidateDropsEntriesOfTheUser() {
+        when(delegate.authenticate(any())).thenReturn(authenticated("John"));
+        cache.authenticate(request("John", "secret"), delegate);
+
+        cache.invalidate("John");
+        cache.authenticate(request("John", "secret"), delegate);
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticationRacingWithInvalidateIsNotCached() {
+        when(delegate.authenticate(any()))
+                .thenAnswer(invocation -> {
+                    // The employee changes while the first check is still running
+                    cache.invalidate("John");
+                    return authenticated("John");
+                })
+                .thenReturn(authenticated("John"));
+
+        cache.authenticate(request("John", "secret"), delegate);
+        cache.authenticate(request("John", "secret"), delegate);
+        cache.authenticate(request("John", "secret"), delegate);
+
+        verify(delegate, times(2)).authenticate(any());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    private Authentication request(String userName, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(userName, password);
+    }
+
+    private Authentication authenticated(String userName) {
+        return UsernamePasswordAuthenticationToken.authenticated(userName, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.spring_study.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTests {
+    private static final String SECRET = "daf66e01593f61a15b857cf433aae03a005812b31234e149036bcc8dee755dbb";
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+    @Mock
+    private RoleRegistry roleRegistry;
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenVerifier tokenVerifier = new JwtTokenVerifier(SECRET, 100);
+        tokenProvider = new JwtTokenProvider(tokenVersionRegistry, tokenVerifier);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationDate", 60_000L);
+        ReflectionTestUtils.setField(tokenProvider, "selfContained", true);
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsCache, tokenVersionRegistry, tokenVerifier,
+                tokenRevocationList, roleRegistry);
+        lenient().when(roleRegistry.authority(anyString()))
+                .thenAnswer(invocation -> new SimpleGrantedAuthority(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testSelfContainedTokenSkipsUserLookup() throws Exception {
+        when(tokenVersionRegistry.get("John")).thenReturn(3);
+        String token = tokenProvider.generateToken(login("John", "ROLE_ADMIN"));
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("John", authentication.getName());
+        assertEquals(List.of("ROLE_ADMIN"), authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(userDetailsCache, never()).get(anyString());
+    }
+
+    @Test
+    void testTokenOfOlderVersionIsRejected() throws Exception {
+        when(tokenVersionRegistry.get("John")).thenReturn(3, 4);
+        String token = tokenProvider.generateToken(login("John", "ROLE_ADMIN"));
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsCache, never()).get(anyString());
+    }
+
+    @Test
+    void testTokenOfDeletedEmployeeIsRejected() throws Exception {
+        when(tokenVersionRegistry.get("John")).thenReturn(3, (Integer) null);
+        String token = tokenProvider.generateToken(login("John", "ROLE_USER"));
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testRevokedTokenIsRejected() throws Exception {
+        when(tokenVersionRegistry.get("John")).thenReturn(3);
+        when(tokenRevocationList.isRevoked(anyString())).thenReturn(true);
+        String token = tokenProvider.generateToken(login("John", "ROLE_ADMIN"));
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsCache, never()).get(anyString());
+    }
+
+    private Authentication login(String userName, String role) {
+        return new UsernamePasswordAuthenticationToken(userName, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/device/getAll");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
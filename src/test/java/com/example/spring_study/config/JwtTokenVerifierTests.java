@@ -0,0 +1,74 @@
+package com.example.spring_study.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtTokenVerifierTests {
+    private static final String SECRET = "daf66e01593f61a15b857cf433aae03a005812b31234e149036bcc8dee755dbb";
+    private static final String OTHER_SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private JwtTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new JwtTokenVerifier(SECRET, 2);
+    }
+
+    @Test
+    void testRepeatedTokenIsServedFromCache() {
+        String token = token(SECRET, "John", 60_000);
+
+        JwtTokenVerifier.VerifiedToken first = verifier.verify(token);
+        JwtTokenVerifier.VerifiedToken second = verifier.verify(token);
+
+        assertSame(first, second);
+        assertEquals("John", second.subject());
+        assertEquals(List.of("ROLE_ADMIN"), second.roles());
+        assertEquals(5, second.version());
+        assertEquals(1, verifier.getMissCount());
+        assertEquals(1, verifier.getHitCount());
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(token(SECRET, "John", -1_000)));
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    void testTokenSignedWithAnotherKeyIsRejected() {
+        assertThrows(JwtException.class, () -> verifier.verify(token(OTHER_SECRET, "John", 60_000)));
+        assertEquals(0, verifier.size());
+    }
+
+    @Test
+    void testCacheStaysWithinMaxEntries() {
+        verifier.verify(token(SECRET, "John", 60_000));
+        verifier.verify(token(SECRET, "Jane", 60_000));
+        verifier.verify(token(SECRET, "Jack", 60_000));
+
+        assertEquals(2, verifier.size());
+        assertEquals(1, verifier.getEvictionCount());
+    }
+
+    private String token(String secret, String subject, long expiresInMs) {
+        return Jwts.builder()
+                .subject(subject)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + expiresInMs))
+                .claim(JwtTokenProvider.ROLES_CLAIM, List.of("ROLE_ADMIN"))
+                .claim(JwtTokenProvider.VERSION_CLAIM, 5)
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .compact();
+    }
+}
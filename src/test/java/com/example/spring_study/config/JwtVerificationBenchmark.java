@@ -0,0 +1,73 @@
+package com.example.spring_study.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT verification: the previous filter path (key and parser rebuilt, token
+ * parsed twice), a single parse with the shared parser, and a repeated token served from the cache.
+ * Run through {@link JwtVerificationBenchmarkTests}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private static final String SECRET = "daf66e01593f61a15b857cf433aae03a005812b31234e149036bcc8dee755dbb";
+
+    private String token;
+    private JwtTokenVerifier verifier;
+    private JwtTokenVerifier uncachedVerifier;
+
+    @Setup
+    public void setUp() {
+        verifier = new JwtTokenVerifier(SECRET, 10_000);
+        uncachedVerifier = new JwtTokenVerifier(SECRET, 0);
+        token = Jwts.builder()
+                .subject("John")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .claim(JwtTokenProvider.ROLES_CLAIM, List.of("ROLE_ADMIN"))
+                .claim(JwtTokenProvider.VERSION_CLAIM, 1)
+                .signWith(verifier.getKey())
+                .compact();
+    }
+
+    @Benchmark
+    public Object rebuildParserAndParseTwice() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        Jwts.parser().verifyWith(key).build().parse(token);
+        SecretKey again = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        Claims claims = Jwts.parser().verifyWith(again).build().parseSignedClaims(token).getPayload();
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public Object singleParse() {
+        return uncachedVerifier.verify(token);
+    }
+
+    @Benchmark
+    public Object cachedVerify() {
+        return verifier.verify(token);
+    }
+}
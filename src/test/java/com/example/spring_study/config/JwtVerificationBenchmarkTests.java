@@ -0,0 +1,18 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.BenchmarkSupport;
+import com.example.spring_study.EnabledIfBenchmark;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Runs {@link JwtVerificationBenchmark}; run with
+ * {@code mvn test -Dtest=JwtVerificationBenchmarkTests -Dbenchmark=true}.
+ */
+@EnabledIfBenchmark
+public class JwtVerificationBenchmarkTests {
+    @Test
+    void runBenchmark() throws RunnerException {
+        BenchmarkSupport.run(JwtVerificationBenchmark.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.exception.LoginThrottledException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginThrottleTests {
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        // 3 attempts per user, one more every second; 5 per address, one more every 500 ms
+        throttle = new LoginThrottle(3, 1_000, 5, 500, 100, now::get);
+    }
+
+    @Test
+    void testUserBucketEmptiesAndRefills() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("John", "10.0.0." + i);
+        }
+        LoginThrottledException rejected = assertThrows(LoginThrottledException.class,
+                () -> throttle.acquire("john", "10.0.0.9"));
+        assertEquals(1, rejected.getRetryAfterSeconds());
+
+        now.addAndGet(1_000);
+        throttle.acquire("John", "10.0.0.9");
+        assertEquals(1, throttle.getStats().getRejectedByUser());
+    }
+
+    @Test
+    void testAddressBucketIsSharedAcrossUsers() {
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("user" + i, "10.0.0.1");
+        }
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("other", "10.0.0.1"));
+        throttle.acquire("other", "10.0.0.2");
+        assertEquals(1, throttle.getStats().getRejectedByAddress());
+    }
+
+    @Test
+    void testSweepDropsBucketsThatRefilled() {
+        throttle.acquire("John", "10.0.0.1");
+        now.addAndGet(500);
+        throttle.sweep();
+        assertEquals(1, throttle.getStats().getTrackedUsers());
+        assertEquals(0, throttle.getStats().getTrackedAddresses());
+
+        now.addAndGet(500);
+        throttle.sweep();
+        assertEquals(0, throttle.getStats().getTrackedUsers());
+    }
+
+    @Test
+    void testTrackedBucketsStayWithinMaxEntries() {
+        for (int i = 0; i < 500; i++) {
+            acquireIgnoringThrottle("user" + i, null);
+        }
+        assertTrue(throttle.getStats().getTrackedUsers() <= 100);
+    }
+
+    @Test
+    void testSprayingNamesDoesNotResetAnEmptyBucket() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("John", null);
+        }
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("John", null));
+
+        for (int i = 0; i < 500; i++) {
+            acquireIgnoringThrottle("spray" + i, null);
+        }
+
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("John", null));
+        // Past the table limit the new names share one bucket
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("newcomer", null));
+    }
+
+    @Test
+    void testBucketsThatRefilledMakeRoom() {
+        for (int i = 0; i < 100; i++) {
+            throttle.acquire("user" + i, null);
+        }
+        now.addAndGet(1_000);
+
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("newcomer", null);
+        }
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("newcomer", null));
+        assertEquals(1, throttle.getStats().getTrackedUsers());
+    }
+
+    @Test
+    void testCleanupOnNewKeysIsRateLimited() {
+        for (int i = 0; i < 100; i++) {
+            throttle.acquire("user" + i, null);
+        }
+        now.addAndGet(999);
+        acquireIgnoringThrottle("first", null);
+
+        // Every bucket has refilled, but the table was swept 1 ms ago
+        now.addAndGet(1);
+        acquireIgnoringThrottle("second", null);
+        assertEquals(100, throttle.getStats().getTrackedUsers());
+
+        now.addAndGet(500);
+        throttle.acquire("third", null);
+        assertEquals(1, throttle.getStats().getTrackedUsers());
+    }
+
+    private void acquireIgnoringThrottle(String userName, String clientIp) {
+        try {
+            throttle.acquire(userName, clientIp);
+        } catch (LoginThrottledException ignored) {
+            // Only the tracked buckets matter here
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.model.Role;
+import com.example.spring_study.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RoleRegistryTests {
+    @Mock
+    private RoleRepository roleRepository;
+
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1, "ROLE_ADMIN"), new Role(2, "ROLE_USER")));
+        roleRegistry = new RoleRegistry(roleRepository);
+    }
+
+    @Test
+    void testLookupsHitTheDatabaseOnce() {
+        assertTrue(roleRegistry.exists("ROLE_ADMIN"));
+        assertFalse(roleRegistry.exists("ROLE_ROOT"));
+
+        Set<Role> roles = roleRegistry.resolve(List.of("ROLE_USER", "ROLE_ROOT"));
+
+        assertEquals(Set.of(new Role(2, "ROLE_USER")), roles);
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testAuthoritiesAreShared() {
+        assertSame(roleRegistry.authority("ROLE_ADMIN"), roleRegistry.authority("ROLE_ADMIN"));
+        assertSame(roleRegistry.authority("ROLE_USER"),
+                roleRegistry.authoritiesOf(List.of(new Role(2, "ROLE_USER"))).iterator().next());
+        assertEquals("ROLE_NEW", roleRegistry.authority("ROLE_NEW").getAuthority());
+    }
+
+    @Test
+    void testRefreshPicksUpNewRoles() {
+        assertFalse(roleRegistry.exists("ROLE_AUDITOR"));
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1, "ROLE_ADMIN"), new Role(3, "ROLE_AUDITOR")));
+
+        Set<String> names = roleRegistry.refresh();
+
+        assertEquals(Set.of("ROLE_ADMIN", "ROLE_AUDITOR"), names);
+        assertTrue(roleRegistry.exists("ROLE_AUDITOR"));
+        assertFalse(roleRegistry.exists("ROLE_USER"));
+    }
+}
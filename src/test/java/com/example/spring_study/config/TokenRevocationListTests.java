@@ -0,0 +1,85 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.model.RevokedToken;
+import com.example.spring_study.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationListTests {
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(revokedTokenRepository, 100, 0.01);
+    }
+
+    @Test
+    void testRevokedTokenIsPersistedAndFound() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        revocationList.revoke("token-1", expiresAt);
+
+        assertTrue(revocationList.isRevoked("token-1"));
+        assertFalse(revocationList.isRevoked("token-2"));
+        assertFalse(revocationList.isRevoked(null));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testReloadRebuildsFromStoredRows() {
+        LocalDateTime later = LocalDateTime.now().plusHours(1);
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedToken("stored-1", later, LocalDateTime.now()),
+                new RevokedToken("stored-2", later, LocalDateTime.now())));
+
+        revocationList.reload();
+
+        verify(revokedTokenRepository).deleteExpired(any());
+        assertTrue(revocationList.isRevoked("stored-1"));
+        assertTrue(revocationList.isRevoked("stored-2"));
+        assertEquals(2, revocationList.size());
+    }
+
+    @Test
+    void testReloadDropsExpiredLocalRevocations() {
+        revocationList.revoke("expired", System.currentTimeMillis() - 1_000);
+        revocationList.revoke("live", System.currentTimeMillis() + 60_000);
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of());
+
+        revocationList.reload();
+
+        assertFalse(revocationList.isRevoked("expired"));
+        assertTrue(revocationList.isRevoked("live"));
+    }
+
+    @Test
+    void testBloomFilterFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.spring_study.config;
+
+import com.example.spring_study.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenVersionRegistryTests {
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenVersionRegistry(employeeRepository);
+    }
+
+    @Test
+    void testReloadLowersTheVersionOfARecreatedUser() {
+        registry.put("John", 5);
+        when(employeeRepository.findAllTokenVersions()).thenReturn(List.<Object[]>of(new Object[]{"John", 0}));
+
+        registry.reload();
+
+        assertEquals(0, registry.get("John"));
+    }
+
+    @Test
+    void testReloadKeepsChangesMadeWhileTheQueryRan() {
+        when(employeeRepository.findAllTokenVersions()).thenAnswer(invocation -> {
+            registry.put("John", 3);
+            registry.remove("Jane");
+            return List.<Object[]>of(new Object[]{"John", 2}, new Object[]{"Jane", 1}, new Object[]{"Alice", 4});
+        });
+
+        registry.reload();
+
+        assertEquals(3, registry.get("John"));
+        assertNull(registry.get("Jane"));
+        assertEquals(4, registry.get("Alice"));
+    }
+
+    @Test
+    void testChangesAfterAReloadAreNotReplayedByTheNextOne() {
+        when(employeeRepository.findAllTokenVersions()).thenReturn(List.<Object[]>of(new Object[]{"John", 1}));
+        registry.reload();
+        registry.put("John", 7);
+
+        registry.reload();
+
+        assertEquals(1, registry.get("John"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.spring_study.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsCacheTests {
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Test
+    void testSecondLookupIsServedFromCache() {
+        when(userDetailsService.loadUserByUsername("John")).thenReturn(user("John"));
+        UserDetailsCache cache = new UserDetailsCache(userDetailsService, 60_000, 10);
+
+        UserDetails first = cache.get("John");
+        UserDetails second = cache.get("John");
+
+        assertSame(first, second);
+        verify(userDetailsService, times(1)).loadUserByUsername("John");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        when(userDetailsService.loadUserByUsername("John")).thenReturn(user("John"));
+        UserDetailsCache cache = new UserDetailsCache(userDetailsService, 60_000, 10);
+
+        cache.get("John");
+        cache.invalidate("John");
+        cache.get("John");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("John");
+    }
+
+    @Test
+    void testLoadRacingWithInvalidateIsNotCached() {
+        UserDetailsCache cache = new UserDetailsCache(userDetailsService, 60_000, 10);
+        UserDetails stale = user("John");
+        UserDetails fresh = user("John");
+        when(userDetailsService.loadUserByUsername("John"))
+                .thenAnswer(invocation -> {
+                    // The employee changes while the first load is still running
+                    cache.invalidate("John");
+                    return stale;
+                })
+                .thenReturn(fresh);
+
+        assertSame(stale, cache.get("John"));
+        assertSame(fresh, cache.get("John"));
+        assertSame(fresh, cache.get("John"));
+
+        verify(userDetailsService, times(2)).loadUserByUsername("John");
+    }
+
+    @Test
+    void testFailedLoadLeavesNothingBehind() {
+        when(userDetailsService.loadUserByUsername("Ghost")).thenThrow(new UsernameNotFoundException("Ghost"));
+        UserDetailsCache cache = new UserDetailsCache(userDetailsService, 60_000, 10);
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("Ghost"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testExpiredEntryIsReloaded() {
+        when(userDetailsService.loadUserByUsername("John")).thenReturn(user("John"));
+        UserDetailsCache cache = new UserDetailsCache(userDetailsService, 0, 10);
+
+        cache.get("John");
+        cache.get("John");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("John");
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        when(userDetailsService.loadUserByUsername(anyString())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        UserDetailsCache cache = new UserDetailsCache(userDetailsService, 60_000, 3);
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("user" + i);
+        }
+
+        assertEquals(3, cache.size());
+        assertEquals(7, cache.getEvictionCount());
+    }
+
+    @Test
+    void testFullCacheSweepsExpiredEntries() throws InterruptedException {
+        when(userDetailsService.loadUserByUsername(anyString())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+        UserDetailsCache cache = new UserDetailsCache(userDetailsService, 1, 3);
+        for (int i = 0; i < 3; i++) {
+            cache.get("user" + i);
+        }
+
+        Thread.sleep(5);
+        cache.get("user3");
+
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+    }
+
+    private UserDetails user(String name) {
+        return new User(name, "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -20,6 +20,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -31,6 +33,8 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -123,6 +127,29 @@ public class BorrowingControllerTests {
         verify(borrowingService, times(1)).createBorrowing(any(BorrowingRequest.class));
     }
 
+    @Test
+    @WithMockJwt(username = "John", roles = {"ROLE_ADMIN"})
+    void testCreateBorrowingsFromLines() throws Exception {
+        List<BorrowingRequest> received = new ArrayList<>();
+        when(borrowingService.createBorrowings(any())).thenAnswer(invocation -> {
+            Iterator<BorrowingRequest> requests = invocation.getArgument(0);
+            requests.forEachRemaining(received::add);
+            return new BulkBorrowingResponse(1, 1, 0, List.of());
+        });
+
+        mockMvc.perform(post("/api/v1/borrowing/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(borrowingRequest) + "\n\nnot json\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1));
+
+        // Blank lines are skipped and a malformed line is passed on as null
+        assertEquals(2, received.size());
+        assertEquals(borrowingRequest.getEmployeeId(), received.get(0).getEmployeeId());
+        assertNull(received.get(1));
+    }
+
     @Test
     void testGetBorrowingById() throws Exception {
         when(borrowingService.getBorrowingById(1)).thenReturn(borrowing);
@@ -0,0 +1,237 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.constant.AuditSinkType;
+import com.example.spring_study.constant.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditLogWriterTests {
+    @Mock
+    private LogEntryWriter entryWriter;
+    @Mock
+    private ObjectProvider<AuditSpool> spool;
+    @Mock
+    private ObjectProvider<AuditPartitionManager> partitionManager;
+
+    // Batch sizes as seen by the writer; the batch list itself is cleared once the flush returns
+    private final List<Integer> insertedSizes = new CopyOnWriteArrayList<>();
+    private final List<Thread> insertingThreads = new CopyOnWriteArrayList<>();
+    private AuditLogWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void testDropPolicyCountsRejectedEntries() {
+        AuditLogWriter unstarted = writer(2, 10, 1000, OverflowPolicy.DROP, 0);
+
+        assertTrue(unstarted.submit(entry()));
+        assertTrue(unstarted.submit(entry()));
+        assertFalse(unstarted.submit(entry()));
+
+        assertEquals(2, unstarted.getEnqueuedCount());
+        assertEquals(1, unstarted.getDroppedCount());
+        assertEquals(2, unstarted.getQueueDepth());
+    }
+
+    @Test
+    void testBlockPolicyGivesUpAfterTimeout() {
+        AuditLogWriter unstarted = writer(1, 10, 1000, OverflowPolicy.BLOCK, 100);
+        assertTrue(unstarted.submit(entry()));
+
+        long start = System.nanoTime();
+        boolean accepted = unstarted.submit(entry());
+        long elapsed = System.nanoTime() - start;
+
+        assertFalse(accepted);
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(100), "gave up after " + elapsed + "ns");
+        assertEquals(1, unstarted.getDroppedCount());
+    }
+
+    @Test
+    void testFullBatchIsFlushedBeforeTheInterval() {
+        recordInserts();
+        writer = writer(100, 3, 1000, OverflowPolicy.DROP, 0);
+        writer.start();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            writer.submit(entry());
+        }
+
+        verify(entryWriter, timeout(500)).insert(anyList());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(List.of(3), insertedSizes);
+    }
+
+    @Test
+    void testPartialBatchIsFlushedAfterTheInterval() {
+        recordInserts();
+        writer = writer(100, 100, 200, OverflowPolicy.DROP, 0);
+        writer.start();
+
+        writer.submit(entry());
+        writer.submit(entry());
+
+        verify(entryWriter, timeout(2000)).insert(anyList());
+        assertEquals(List.of(2), insertedSizes);
+        awaitUntil(() -> writer.getFlushedCount() == 2);
+    }
+
+    @Test
+    void testFailedInsertIsCounted() {
+        doThrow(new DataAccessResourceFailureException("down")).when(entryWriter).insert(anyList());
+        writer = writer(100, 2, 1000, OverflowPolicy.DROP, 0);
+        writer.start();
+
+        writer.submit(entry());
+        writer.submit(entry());
+
+        awaitUntil(() -> writer.getFailedCount() == 2);
+        assertEquals(0, writer.getFlushedCount());
+    }
+
+    @Test
+    void testStopDrainsTheQueue() throws Exception {
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            List<LogEntry> batch = invocation.getArgument(0);
+            insertedSizes.add(batch.size());
+            insertingThreads.add(Thread.currentThread());
+            inserting.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(entryWriter).insert(anyList());
+        AuditLogWriter stopped = writer(100, 1, 100, OverflowPolicy.DROP, 0);
+        stopped.start();
+
+        // Hold the flusher inside its first insert so the next entries stay queued
+        stopped.submit(entry());
+        assertTrue(inserting.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            stopped.submit(entry());
+        }
+
+        Thread stopper = new Thread(() -> {
+            try {
+                stopped.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        stopper.start();
+        // stop() has cleared the running flag once it waits on the flusher
+        awaitUntil(() -> stopper.getState() == Thread.State.TIMED_WAITING);
+        release.countDown();
+        stopper.join(5000);
+
+        assertEquals(List.of(1, 1, 1, 1), insertedSizes);
+        assertEquals(List.of(stopper, stopper, stopper), insertingThreads.subList(1, 4));
+        assertEquals(4, stopped.getFlushedCount());
+        assertEquals(0, stopped.getQueueDepth());
+    }
+
+    @Test
+    void testSubmitAfterStopIsRejected() throws InterruptedException {
+        AuditLogWriter stopped = writer(100, 10, 100, OverflowPolicy.DROP, 0);
+        stopped.start();
+        stopped.stop();
+
+        assertFalse(stopped.submit(entry()));
+        assertEquals(0, stopped.getEnqueuedCount());
+        assertEquals(1, stopped.getDroppedCount());
+        assertEquals(0, stopped.getQueueDepth());
+        verifyNoInteractions(entryWriter);
+    }
+
+    @Test
+    void testStopLeavesTheQueueToAStuckFlusher() throws Exception {
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        doAnswer(invocation -> {
+            insertingThreads.add(Thread.currentThread());
+            inserting.countDown();
+            // Ignores interrupts, like a driver call that does not honour them
+            while (true) {
+                try {
+                    if (release.await(5, TimeUnit.SECONDS)) {
+                        return null;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            }
+        }).when(entryWriter).insert(anyList());
+        AuditLogWriter stuck = writer(100, 1, 100, OverflowPolicy.DROP, 0);
+        stuck.start();
+
+        stuck.submit(entry());
+        assertTrue(inserting.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            stuck.submit(entry());
+        }
+        try {
+            stuck.stop();
+
+            assertTrue(interrupted.get());
+            assertEquals(1, insertingThreads.size());
+            assertEquals(3, stuck.getQueueDepth());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private AuditLogWriter writer(int capacity, int batchSize, long flushIntervalMs, OverflowPolicy policy, long blockTimeoutMs) {
+        return new AuditLogWriter(entryWriter, spool, partitionManager, AuditSinkType.DATABASE,
+                capacity, batchSize, flushIntervalMs, policy, blockTimeoutMs);
+    }
+
+    private void recordInserts() {
+        doAnswer(invocation -> {
+            List<LogEntry> batch = invocation.getArgument(0);
+            insertedSizes.add(batch.size());
+            return null;
+        }).when(entryWriter).insert(anyList());
+    }
+
+    private void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+
+    private LogEntry entry() {
+        return LogEntry.builder()
+                .timestamp(LocalDateTime.now())
+                .level(LogLevel.INFO)
+                .action("GET")
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.constant.PartitionInterval;
+import com.example.spring_study.constant.RetentionAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditPartitionManagerTests {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AuditPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        partitionManager = new AuditPartitionManager(jdbcTemplate, transactionTemplate, new AuditIndexManager(jdbcTemplate), PartitionInterval.DAILY, 7, 90, RetentionAction.DROP);
+    }
+
+    @Test
+    void testMissingPartitionIsCreatedOnce() {
+        LocalDateTime time = LocalDateTime.of(2031, 3, 14, 15, 9);
+        List<LogEntry> entries = List.of(entry(time), entry(time.plusHours(1)), entry(time.plusDays(1)));
+
+        partitionManager.ensureCovered(entries);
+        partitionManager.ensureCovered(entries);
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq("log_entry"));
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS log_entry_p20310314 PARTITION OF log_entry " +
+                "FOR VALUES FROM ('2031-03-14 00:00:00') TO ('2031-03-15 00:00:00')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS log_entry_p20310315 PARTITION OF log_entry " +
+                "FOR VALUES FROM ('2031-03-15 00:00:00') TO ('2031-03-16 00:00:00')");
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testExistingPartitionIsNotRecreated() {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString(1)).thenReturn("log_entry_p20310314");
+            when(rs.getString(2)).thenReturn("FOR VALUES FROM ('2031-03-14 00:00:00') TO ('2031-03-15 00:00:00')");
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq("log_entry"));
+
+        partitionManager.ensureCovered(List.of(entry(LocalDateTime.of(2031, 3, 14, 8, 0))));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private LogEntry entry(LocalDateTime timestamp) {
+        return LogEntry.builder().timestamp(timestamp).build();
+    }
+}
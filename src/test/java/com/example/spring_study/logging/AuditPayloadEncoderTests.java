@@ -0,0 +1,74 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.model.payload.EmployeeResponse;
+import com.example.spring_study.model.payload.LoginRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditPayloadEncoderTests {
+    private AuditPayloadEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new AuditPayloadEncoder(new ObjectMapper().findAndRegisterModules(), 256, true, 2);
+    }
+
+    @Test
+    void testEncodeArgs() {
+        assertEquals("[1,\"name\"]", encoder.encodeArgs(new Object[]{1, "name"}));
+    }
+
+    @Test
+    void testEncodeArgs_SkipsServletArguments() {
+        LoginRequest login = new LoginRequest();
+        login.setUserName("john");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+
+        String encoded = encoder.encodeArgs(new Object[]{login, request, new MockHttpServletResponse(), new StringReader("{}")});
+
+        assertTrue(encoded.startsWith("[{\"userName\":\"john\""), encoded);
+        assertFalse(encoded.contains("servletContext"));
+        assertNotEquals("Unable to serialize request data", encoded);
+    }
+
+    @Test
+    void testEncodeArgs_Truncated() {
+        String encoded = encoder.encodeArgs(new Object[]{"x".repeat(1000)});
+
+        assertTrue(encoded.startsWith("[\"xxxx"));
+        assertTrue(encoded.endsWith("...[truncated at 256 bytes]"));
+        assertEquals(256 + "...[truncated at 256 bytes]".length(), encoded.length());
+    }
+
+    @Test
+    void testEncodeResult_PageSummary() {
+        List<EmployeeResponse> employees = List.of(employee(3), employee(5), employee(8));
+        PageImpl<EmployeeResponse> page = new PageImpl<>(employees, PageRequest.of(0, 10), 3);
+
+        String encoded = encoder.encodeResult(ResponseEntity.ok(page));
+
+        assertEquals("{\"status\":200,\"body\":{\"type\":\"Page\",\"elements\":3,\"totalElements\":3,\"page\":0,\"size\":10,\"ids\":[3,5]}}", encoded);
+    }
+
+    @Test
+    void testEncodeResult_Null() {
+        assertNull(encoder.encodeResult(null));
+    }
+
+    private EmployeeResponse employee(int id) {
+        EmployeeResponse employee = new EmployeeResponse();
+        employee.setId(id);
+        return employee;
+    }
+}
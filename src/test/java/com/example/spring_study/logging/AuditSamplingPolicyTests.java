@@ -0,0 +1,52 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.model.payload.SamplingPolicyRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditSamplingPolicyTests {
+    private static final String ENDPOINT = "DeviceController.getDevices";
+
+    private AuditSamplingPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        policy = new AuditSamplingPolicy("CREATE:1.0,GET:0.0", "BorrowingController.transferDevice:1.0", 500, true);
+    }
+
+    @Test
+    void testSkipsSampledOutRead() {
+        assertFalse(policy.shouldLog(ENDPOINT, "GET", "GET", null, TimeUnit.MILLISECONDS.toNanos(5)));
+        assertEquals(1, policy.describe().getSkipped());
+    }
+
+    @Test
+    void testAlwaysLogsErrorsSlowCallsAndMutations() {
+        assertTrue(policy.shouldLog(ENDPOINT, "GET", "GET", new IllegalStateException(), 0));
+        assertTrue(policy.shouldLog(ENDPOINT, "GET", "GET", null, TimeUnit.MILLISECONDS.toNanos(800)));
+        assertTrue(policy.shouldLog("AuthController.login", "GET", "POST", null, 0));
+    }
+
+    @Test
+    void testEndpointRateOverridesActionRate() {
+        assertTrue(policy.shouldLog("BorrowingController.transferDevice", "GET", "GET", null, 0));
+    }
+
+    @Test
+    void testUpdateAtRuntime() {
+        SamplingPolicyRequest request = new SamplingPolicyRequest();
+        request.setActionRates(Map.of("GET", 1.0));
+        request.setEndpointRates(Map.of());
+        request.setSlowThresholdMs(100L);
+
+        policy.update(request);
+
+        assertTrue(policy.shouldLog(ENDPOINT, "GET", "GET", null, 0));
+        assertEquals(100, policy.describe().getSlowThresholdMs());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.spring_study.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditSpoolReplayerTests {
+    @TempDir
+    Path directory;
+
+    @Mock
+    private LogEntryWriter entryWriter;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ObjectProvider<AuditPartitionManager> partitionManager;
+
+    private AuditSpool spool;
+    private AuditSpoolReplayer replayer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        spool = new AuditSpool(new ObjectMapper().findAndRegisterModules(), directory.toString(), 4096, 0);
+        spool.recover();
+        replayer = new AuditSpoolReplayer(spool, entryWriter, jdbcTemplate, transactionTemplate, partitionManager, 2);
+
+        // The bad segment is written first, so it sorts ahead of the good one
+        spool.append(List.of(entry("bad")));
+        spool.sealIfIdle();
+        spool.append(List.of(entry("good")));
+        spool.sealIfIdle();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        spool.close();
+    }
+
+    @Test
+    void testFailingSegmentIsQuarantinedWithoutBlockingOthers() throws IOException {
+        runTransactions();
+        when(jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(1);
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+        doAnswer(invocation -> {
+            List<LogEntry> entries = invocation.getArgument(0);
+            if ("bad".equals(entries.get(0).getMessage())) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return null;
+        }).when(entryWriter).insert(anyList());
+
+        replayer.replay();
+
+        assertEquals(1, spool.sealedSegments().size());
+        verify(entryWriter, times(2)).insert(anyList());
+
+        replayer.replay();
+
+        assertTrue(spool.sealedSegments().isEmpty());
+        assertEquals(1, filesEndingWith(AuditSpool.QUARANTINED_SUFFIX));
+    }
+
+    @Test
+    void testUnreachableDatabaseCountsNoAttempts() throws IOException {
+        runTransactions();
+        when(jdbcTemplate.update(anyString(), any(), any(), any())).thenThrow(new CannotGetJdbcConnectionException("down"));
+        when(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).thenThrow(new CannotGetJdbcConnectionException("down"));
+
+        for (int i = 0; i < 5; i++) {
+            replayer.replay();
+        }
+
+        assertEquals(2, spool.sealedSegments().size());
+        assertEquals(0, filesEndingWith(AuditSpool.QUARANTINED_SUFFIX));
+        verify(entryWriter, never()).insert(anyList());
+    }
+
+    private void runTransactions() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private long filesEndingWith(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(suffix)).count();
+        }
+    }
+
+    private LogEntry entry(String message) {
+        return LogEntry.builder()
+                .timestamp(LocalDateTime.now())
+                .level(LogLevel.INFO)
+                .method("DeviceController.getDevices")
+                .message(message)
+                .action("GET")
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.spring_study.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.logging.LogLevel;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditSpoolTests {
+    @TempDir
+    Path directory;
+
+    private AuditSpool spool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        spool = new AuditSpool(new ObjectMapper().findAndRegisterModules(), directory.toString(), 4096, 0);
+        spool.recover();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        spool.close();
+    }
+
+    @Test
+    void testSealedSegmentReadsBackEntries() throws IOException {
+        spool.append(List.of(entry("first"), entry("second")));
+        spool.sealIfIdle();
+
+        List<Path> segments = spool.sealedSegments();
+        assertEquals(1, segments.size());
+
+        List<LogEntry> entries = spool.read(segments.get(0));
+        assertEquals(2, entries.size());
+        assertEquals("first", entries.get(0).getMessage());
+        assertEquals(LogLevel.INFO, entries.get(1).getLevel());
+    }
+
+    @Test
+    void testFullSegmentRollsOver() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            spool.append(List.of(entry("x".repeat(200))));
+        }
+        spool.close();
+
+        List<Path> segments = spool.sealedSegments();
+        assertTrue(segments.size() > 1);
+        int total = 0;
+        for (Path segment : segments) {
+            total += spool.read(segment).size();
+        }
+        assertEquals(40, total);
+    }
+
+    @Test
+    void testReadStopsAtCorruptRecord() throws IOException {
+        spool.append(List.of(entry("kept")));
+        spool.append(List.of(entry("corrupted")));
+        spool.close();
+
+        Path segment = spool.sealedSegments().get(0);
+        int firstLength;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            firstLength = file.readInt();
+            // Flip a byte inside the payload of the second record
+            file.seek(8L + firstLength + 8 + 2);
+            int value = file.read();
+            file.seek(8L + firstLength + 8 + 2);
+            file.write(value ^ 0xFF);
+        }
+
+        List<LogEntry> entries = spool.read(segment);
+        assertEquals(1, entries.size());
+        assertEquals("kept", entries.get(0).getMessage());
+    }
+
+    @Test
+    void testRecoverSealsSegmentsLeftOpen() throws IOException {
+        spool.append(List.of(entry("crash")));
+        spool.close();
+
+        // Put the segment back into the state a crash before sealing would leave it in
+        Path sealed = spool.sealedSegments().get(0);
+        String name = sealed.getFileName().toString();
+        Path open = sealed.resolveSibling(name.replace(AuditSpool.SEALED_SUFFIX, AuditSpool.OPEN_SUFFIX));
+        Files.move(sealed, open);
+
+        spool.recover();
+
+        assertTrue(Files.notExists(open));
+        assertEquals("crash", spool.read(spool.sealedSegments().get(0)).get(0).getMessage());
+    }
+
+    private LogEntry entry(String message) {
+        return LogEntry.builder()
+                .timestamp(LocalDateTime.now())
+                .level(LogLevel.INFO)
+                .method("DeviceController.getDevices")
+                .message(message)
+                .action("GET")
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.spring_study.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditTailBroadcasterTests {
+    private final AuditTailBroadcaster broadcaster = new AuditTailBroadcaster(new AuditTailBuffer(8), 4, 250, 15000, 60000, 1);
+
+    @Test
+    void testConcurrentSubscribesStayWithinTheLimit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<SseEmitter>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    return broadcaster.subscribe(null, null, null, null);
+                }));
+            }
+            go.countDown();
+
+            List<SseEmitter> emitters = new ArrayList<>();
+            for (Future<SseEmitter> future : futures) {
+                emitters.add(future.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(4, emitters.stream().filter(Objects::nonNull).count());
+            assertEquals(4, broadcaster.getSubscriberCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStoppedSubscriptionReleasesItsSlot() {
+        broadcaster.start();
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(broadcaster.subscribe(null, null, null, null));
+        }
+        assertNull(broadcaster.subscribe(null, null, null, null));
+
+        broadcaster.stop();
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertNotNull(broadcaster.subscribe(null, null, null, null));
+    }
+}
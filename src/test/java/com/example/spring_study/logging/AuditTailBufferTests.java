@@ -0,0 +1,75 @@
+package com.example.spring_study.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuditTailBufferTests {
+    @Test
+    void testCapacityRoundsUpToPowerOfTwo() {
+        assertEquals(8, new AuditTailBuffer(5).capacity());
+        assertEquals(8, new AuditTailBuffer(8).capacity());
+    }
+
+    @Test
+    void testReadsPublishedEntriesInOrder() {
+        AuditTailBuffer buffer = new AuditTailBuffer(8);
+        for (int i = 0; i < 3; i++) {
+            buffer.publish(entry(i));
+        }
+
+        List<AuditTailBuffer.Slot> slots = new ArrayList<>();
+        long next = buffer.read(0, 10, slots);
+
+        assertEquals(3, next);
+        assertEquals(List.of("0", "1", "2"), slots.stream().map(slot -> slot.entry().getMessage()).toList());
+    }
+
+    @Test
+    void testReadRespectsMax() {
+        AuditTailBuffer buffer = new AuditTailBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.publish(entry(i));
+        }
+
+        List<AuditTailBuffer.Slot> slots = new ArrayList<>();
+        assertEquals(2, buffer.read(0, 2, slots));
+        slots.clear();
+        assertEquals(5, buffer.read(2, 10, slots));
+        assertEquals(3, slots.size());
+    }
+
+    @Test
+    void testLaggingReaderSkipsToOldestEntry() {
+        AuditTailBuffer buffer = new AuditTailBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.publish(entry(i));
+        }
+
+        List<AuditTailBuffer.Slot> slots = new ArrayList<>();
+        long next = buffer.read(1, 10, slots);
+
+        assertEquals(10, next);
+        assertEquals(6, slots.get(0).sequence());
+        assertEquals(4, slots.size());
+        // 9 entries were owed, 4 delivered, so 5 were skipped
+        assertEquals(5, next - 1 - slots.size());
+    }
+
+    @Test
+    void testReaderAtHeadGetsNothing() {
+        AuditTailBuffer buffer = new AuditTailBuffer(4);
+        buffer.publish(entry(0));
+
+        List<AuditTailBuffer.Slot> slots = new ArrayList<>();
+        assertEquals(1, buffer.read(1, 10, slots));
+        assertTrue(slots.isEmpty());
+    }
+
+    private LogEntry entry(int i) {
+        return LogEntry.builder().message(Integer.toString(i)).build();
+    }
+}
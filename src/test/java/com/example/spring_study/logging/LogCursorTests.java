@@ -0,0 +1,28 @@
+package com.example.spring_study.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogCursorTests {
+    @Test
+    void testRoundTrip() {
+        LogCursor cursor = new LogCursor(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123456000), 42L);
+        assertEquals(cursor, LogCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void testTokenIsUrlSafe() {
+        String token = new LogCursor(LocalDateTime.of(2024, 5, 1, 10, 15), Long.MAX_VALUE).encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testRejectsForeignTokens() {
+        assertNull(LogCursor.decode("not a cursor"));
+        assertNull(LogCursor.decode("bm90LWEtY3Vyc29y"));
+        assertNull(LogCursor.decode(""));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.BenchmarkSupport;
+import com.example.spring_study.repository.LogRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The audit write paths against a real database: {@code saveAll} through the repository, the JDBC
+ * batch writer and the COPY writer, each writing one batch of entries in a transaction. Run through
+ * {@link LogEntryWriterBenchmarkTests}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LogEntryWriterBenchmark {
+    private static final String METHOD = "LogEntryWriterBenchmark";
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private LogRepository logRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private LogEntryJdbcWriter batchWriter;
+    private LogEntryCopyWriter copyWriter;
+    private List<LogEntry> entries;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkSupport.startApplication();
+        logRepository = context.getBean(LogRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        batchWriter = new LogEntryJdbcWriter(jdbcTemplate);
+        copyWriter = new LogEntryCopyWriter(context.getBean(DataSource.class));
+        deleteEntries();
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareEntries() {
+        entries = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            entries.add(LogEntry.builder()
+                    .timestamp(now)
+                    .level(LogLevel.INFO)
+                    .method(METHOD)
+                    .message("Args: [" + i + ", \"quoted\", {\"page\":0}]")
+                    .action("GET")
+                    .executionTimeMs((long) i % 250)
+                    .userName("benchmark")
+                    .ipAddress("127.0.0.1")
+                    .parameters("[" + i + "]")
+                    .result("{\"status\":200,\"body\":{\"id\":" + i + "}}")
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkAndDeleteEntries() {
+        Long written = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM log_entry WHERE method = ?", Long.class, METHOD);
+        if (written == null || written != size) {
+            throw new IllegalStateException("Expected " + size + " entries, found " + written);
+        }
+        deleteEntries();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void saveAll() {
+        transactionTemplate.executeWithoutResult(status -> logRepository.saveAll(entries));
+    }
+
+    @Benchmark
+    public void jdbcBatch() {
+        transactionTemplate.executeWithoutResult(status -> batchWriter.insert(entries));
+    }
+
+    @Benchmark
+    public void copy() {
+        transactionTemplate.executeWithoutResult(status -> copyWriter.insert(entries));
+    }
+
+    private void deleteEntries() {
+        jdbcTemplate.update("DELETE FROM log_entry WHERE method = ?", METHOD);
+    }
+}
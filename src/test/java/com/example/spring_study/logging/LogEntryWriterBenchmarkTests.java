@@ -0,0 +1,18 @@
+package com.example.spring_study.logging;
+
+import com.example.spring_study.BenchmarkSupport;
+import com.example.spring_study.EnabledIfBenchmark;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Runs {@link LogEntryWriterBenchmark} against a scratch database; run with
+ * {@code mvn test -Dtest=LogEntryWriterBenchmarkTests -Dbenchmark=true -Dbenchmark.datasource.url=jdbc:postgresql://localhost:5432/scratch}.
+ */
+@EnabledIfBenchmark
+public class LogEntryWriterBenchmarkTests {
+    @Test
+    void runBenchmark() throws RunnerException {
+        BenchmarkSupport.run(LogEntryWriterBenchmark.class);
+    }
+}
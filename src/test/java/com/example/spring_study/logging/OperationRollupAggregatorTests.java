@@ -0,0 +1,69 @@
+package com.example.spring_study.logging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OperationRollupAggregatorTests {
+    private static final String METHOD = "ResponseEntity DeviceController.getDevices(BaseSearchRequest)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    private OperationRollupAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new OperationRollupAggregator(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushWritesOneRowPerKey() {
+        aggregator.record(METHOD, "GET", LogLevel.INFO, 10);
+        aggregator.record(METHOD, "GET", LogLevel.INFO, 30);
+        aggregator.record(METHOD, "GET", LogLevel.ERROR, 5);
+
+        aggregator.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        List<Object[]> written = rows.getValue().stream()
+                .sorted(Comparator.comparing(row -> (String) row[3]))
+                .toList();
+        assertEquals(2, written.size());
+        assertArrayEquals(new Object[]{"ERROR", 1L, 5L, 5L}, new Object[]{written.get(0)[3], written.get(0)[4], written.get(0)[5], written.get(0)[6]});
+        assertArrayEquals(new Object[]{"INFO", 2L, 40L, 30L}, new Object[]{written.get(1)[3], written.get(1)[4], written.get(1)[5], written.get(1)[6]});
+        assertEquals(0, aggregator.getPendingBuckets());
+    }
+
+    @Test
+    void testNothingToFlush() {
+        aggregator.flush();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testFailedFlushIsRetried() {
+        aggregator.record(METHOD, "GET", LogLevel.INFO, 10);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        aggregator.flush();
+
+        assertEquals(1, aggregator.getPendingBuckets());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.spring_study.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class StackTraceFingerprinterTests {
+    @Test
+    void testMessageDoesNotChangeFingerprint() {
+        String first = null;
+        for (int id = 1; id <= 2; id++) {
+            String fingerprint = StackTraceFingerprinter.fingerprint(fail(id));
+            if (first == null) {
+                first = fingerprint;
+            }
+            assertEquals(first, fingerprint);
+        }
+        assertEquals(64, first.length());
+    }
+
+    @Test
+    void testDifferentThrowSitesDiffer() {
+        assertNotEquals(StackTraceFingerprinter.fingerprint(fail(1)),
+                StackTraceFingerprinter.fingerprint(new IllegalStateException("Device with ID 1 not found")));
+    }
+
+    @Test
+    void testCauseIsPartOfFingerprint() {
+        IllegalStateException withoutCause = wrap(null);
+        IllegalStateException withCause = wrap(new IllegalArgumentException());
+        assertNotEquals(StackTraceFingerprinter.fingerprint(withoutCause), StackTraceFingerprinter.fingerprint(withCause));
+    }
+
+    @Test
+    void testCompressedTraceRoundTrip() {
+        String trace = "java.lang.IllegalStateException\n\tat a.b.C.d(C.java:1)\n".repeat(50);
+        byte[] compressed = StackTraceFingerprinter.compress(trace);
+        assertTrue(compressed.length < trace.length() / 4);
+        assertEquals(trace, StackTraceFingerprinter.decompress(compressed));
+    }
+
+    @Test
+    void testRecordCountsRepeatedFailuresOnce() {
+        StackTraceFingerprinter fingerprinter = new StackTraceFingerprinter(null, 100);
+        for (int id = 1; id <= 3; id++) {
+            fingerprinter.record(fail(id));
+        }
+        assertEquals(1, fingerprinter.getPendingFingerprints());
+    }
+
+    @Test
+    void testDistinctTracesBeyondMaxAreDroppedWhileFlushFails() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doThrow(new DataAccessResourceFailureException("down")).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        StackTraceFingerprinter fingerprinter = new StackTraceFingerprinter(jdbcTemplate, 2);
+        // Each supplier throws from its own line, so each gives a distinct trace
+        List<Supplier<RuntimeException>> sites = List.of(
+                () -> new IllegalStateException("first"),
+                () -> new IllegalStateException("second"),
+                () -> new IllegalStateException("third"),
+                () -> new IllegalStateException("fourth"));
+
+        RuntimeException held = sites.get(0).get();
+        assertNotNull(fingerprinter.record(held));
+        assertNotNull(fingerprinter.record(sites.get(1).get()));
+        assertNull(fingerprinter.record(sites.get(2).get()));
+        fingerprinter.flush();
+        assertNull(fingerprinter.record(sites.get(3).get()));
+        // A trace already held is still counted
+        assertNotNull(fingerprinter.record(held));
+
+        assertEquals(2, fingerprinter.getDroppedCount());
+        assertEquals(2, fingerprinter.getPendingFingerprints());
+    }
+
+    private IllegalStateException fail(int id) {
+        return new IllegalStateException("Device with ID " + id + " not found");
+    }
+
+    private IllegalStateException wrap(Throwable cause) {
+        return new IllegalStateException("wrapped", cause);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.spring_study.repository;
+
+import com.example.spring_study.constant.IdSequence;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BorrowingBatchRepositoryTests {
+    @Test
+    void testBlocksEndAtSequenceValues() {
+        int size = IdSequence.ALLOCATION_SIZE;
+        List<Integer> ids = BorrowingBatchRepository.expandBlocks(List.of(100L + size, 100L + 3L * size), size + 2);
+
+        assertEquals(size + 2, ids.size());
+        assertEquals(101, ids.get(0));
+        assertEquals(100 + size, ids.get(size - 1));
+        // The second value belongs to a block that does not follow the first one
+        assertEquals(101 + 2 * size, ids.get(size));
+        assertEquals(102 + 2 * size, ids.get(size + 1));
+    }
+
+    @Test
+    void testIdsBelowOneAreSkipped() {
+        assertThrows(IllegalStateException.class, () -> BorrowingBatchRepository.expandBlocks(List.of(1L), 2));
+        assertEquals(List.of(1), BorrowingBatchRepository.expandBlocks(List.of(1L), 1));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.spring_study.services;
+
+import com.example.spring_study.config.JwtTokenVerifier;
+import com.example.spring_study.config.TokenRevocationList;
+import com.example.spring_study.services.impl.AuthServiceImpl;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthServiceTests {
+    @Mock
+    private JwtTokenVerifier jwtTokenVerifier;
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    @Test
+    void testLogout() {
+        when(jwtTokenVerifier.verify("token")).thenReturn(new JwtTokenVerifier.VerifiedToken("id-1", "John", List.of(), null, 1000L));
+
+        assertTrue(authService.logout("token"));
+        verify(tokenRevocationList, times(1)).revoke("id-1", 1000L);
+    }
+
+    @Test
+    void testLogout_ExpiredToken() {
+        when(jwtTokenVerifier.verify("token")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        assertTrue(authService.logout("token"));
+        verify(tokenRevocationList, never()).revoke(any(), anyLong());
+    }
+
+    @Test
+    void testLogout_InvalidToken() {
+        when(jwtTokenVerifier.verify("malformed")).thenThrow(new MalformedJwtException("malformed"));
+        when(jwtTokenVerifier.verify("forged")).thenThrow(new SignatureException("forged"));
+
+        assertFalse(authService.logout("malformed"));
+        assertFalse(authService.logout("forged"));
+        verify(tokenRevocationList, never()).revoke(any(), anyLong());
+    }
+}
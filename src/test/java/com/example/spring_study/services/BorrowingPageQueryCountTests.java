@@ -0,0 +1,171 @@
+package com.example.spring_study.services;
+
+import com.example.spring_study.BenchmarkSupport;
+import com.example.spring_study.EnabledIfBenchmark;
+import com.example.spring_study.constant.RateType;
+import com.example.spring_study.constant.Type;
+import com.example.spring_study.model.Borrowing;
+import com.example.spring_study.model.Device;
+import com.example.spring_study.model.Employee;
+import com.example.spring_study.model.payload.BaseSearchRequest;
+import com.example.spring_study.model.payload.BorrowingResponse;
+import com.example.spring_study.repository.BorrowingRepository;
+import com.example.spring_study.repository.DeviceRepository;
+import com.example.spring_study.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the statements behind each borrowing listing. A page has to cost the same number of
+ * statements whatever its size; the calls run in a transaction, like a request does with
+ * open-in-view, so lazy loads would show up in the count. It writes and deletes rows, so point it at
+ * a scratch database, never the development one:
+ * {@code mvn test -Dtest=BorrowingPageQueryCountTests -Dbenchmark=true -Dbenchmark.datasource.url=jdbc:postgresql://localhost:5432/scratch}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfBenchmark
+public class BorrowingPageQueryCountTests {
+    // Unique per run so the seeded rows never collide with what the database already holds
+    private static final String RUN = Long.toString(System.nanoTime(), 36);
+    private static final String ITEM_NAME = "BorrowingPageQueryCountTests-" + RUN;
+    private static final int BORROWINGS = 20;
+    private static final double TOTAL_PRICE = 123_456.0;
+
+    @Autowired
+    private BorrowingService borrowingService;
+    @Autowired
+    private BorrowingRepository borrowingRepository;
+    @Autowired
+    private DeviceRepository deviceRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Borrowing> borrowings = new ArrayList<>();
+    private LocalDateTime seededFrom;
+    private Statistics statistics;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        BenchmarkSupport.registerDatasource(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        seededFrom = LocalDateTime.now().minusMinutes(1);
+        for (int i = 0; i < BORROWINGS; i++) {
+            Employee employee = employeeRepository.save(new Employee("pagecount-" + RUN + "-" + i, "password", "Page Count " + i,
+                    "Address", "0912345678", 0.0, new HashSet<>()));
+            Device first = deviceRepository.save(new Device(Type.MOUSE, 1.0, RateType.NEW, "Branch", ITEM_NAME, "1.0", 10.0));
+            Device second = deviceRepository.save(new Device(Type.MOUSE, 1.0, RateType.NEW, "Branch", ITEM_NAME, "1.0", 10.0));
+            Borrowing borrowing = new Borrowing(employee, new ArrayList<>(List.of(first, second)));
+            borrowing.setTotalPrice(TOTAL_PRICE);
+            borrowings.add(borrowingRepository.save(borrowing));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Borrowing borrowing : borrowings) {
+            borrowingRepository.delete(borrowing);
+            deviceRepository.deleteAll(borrowing.getDevices());
+            employeeRepository.delete(borrowing.getEmployee());
+        }
+        borrowings.clear();
+    }
+
+    @Test
+    void testGetAllBorrowingStatementsDoNotGrowWithPageSize() {
+        assertConstantStatements(request -> borrowingService.getAllBorrowing(request));
+    }
+
+    @Test
+    void testFindByDeviceNameStatementsDoNotGrowWithPageSize() {
+        assertConstantStatements(request -> borrowingService.findByDeviceName(ITEM_NAME, request));
+    }
+
+    @Test
+    void testBorrowingWithSeveralMatchingDevicesIsListedOnce() {
+        Page<BorrowingResponse> page = transactionTemplate.execute(status -> {
+            BaseSearchRequest request = new BaseSearchRequest();
+            request.setPageNumber(0);
+            request.setPageSize(BORROWINGS);
+            return borrowingService.findByDeviceName(ITEM_NAME, request);
+        });
+
+        // Every seeded borrowing holds two devices with ITEM_NAME
+        assertNotNull(page);
+        assertEquals(BORROWINGS, page.getTotalElements());
+        assertEquals(1, page.getTotalPages());
+        assertEquals(BORROWINGS, page.getContent().stream().map(BorrowingResponse::getId).distinct().count());
+    }
+
+    @Test
+    void testFindByHandOverDateStatementsDoNotGrowWithPageSize() {
+        assertConstantStatements(request ->
+                borrowingService.findByHandOverDate(seededFrom, LocalDateTime.now().plusMinutes(1), request));
+    }
+
+    @Test
+    void testFindByDeviceTypeStatementsDoNotGrowWithPageSize() {
+        assertConstantStatements(request -> borrowingService.findByDeviceType(Type.MOUSE, request));
+    }
+
+    @Test
+    void testFindByTotalPriceStatementsDoNotGrowWithPageSize() {
+        assertConstantStatements(request -> borrowingService.findByTotalPrice(TOTAL_PRICE, request));
+    }
+
+    private void assertConstantStatements(Function<BaseSearchRequest, Page<BorrowingResponse>> listing) {
+        long small = countStatements(listing, 2);
+        long large = countStatements(listing, BORROWINGS / 2);
+
+        // Id page, count and one fetch of the page with its associations
+        assertTrue(small <= 3, "a page took " + small + " statements");
+        assertEquals(small, large);
+    }
+
+    private long countStatements(Function<BaseSearchRequest, Page<BorrowingResponse>> listing, int pageSize) {
+        BaseSearchRequest request = new BaseSearchRequest();
+        request.setPageNumber(0);
+        request.setPageSize(pageSize);
+
+        statistics.clear();
+        Page<BorrowingResponse> page = transactionTemplate.execute(status -> {
+            Page<BorrowingResponse> result = listing.apply(request);
+            // Touch what the JSON serializer would
+            result.getContent().forEach(response -> {
+                response.getEmployee().getRoles().size();
+                response.getDevices().forEach(Device::getItemName);
+            });
+            return result;
+        });
+        long statements = statistics.getPrepareStatementCount();
+
+        assertNotNull(page);
+        assertEquals(pageSize, page.getContent().size());
+        return statements;
+    }
+}
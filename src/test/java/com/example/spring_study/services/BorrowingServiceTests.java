@@ -1,5 +1,6 @@
 package com.example.spring_study.services;
 
+import com.example.spring_study.constant.BulkItemStatus;
 import com.example.spring_study.constant.RateType;
 import com.example.spring_study.constant.Type;
 import com.example.spring_study.exception.BorrowingNotFoundException;
@@ -11,6 +12,7 @@ import com.example.spring_study.model.DateAudit;
 import com.example.spring_study.model.Device;
 import com.example.spring_study.model.Employee;
 import com.example.spring_study.model.payload.*;
+import com.example.spring_study.repository.BorrowingBatchRepository;
 import com.example.spring_study.repository.BorrowingRepository;
 import com.example.spring_study.repository.DeviceRepository;
 import com.example.spring_study.repository.EmployeeRepository;
@@ -23,13 +25,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -47,6 +53,12 @@ public class BorrowingServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private BorrowingBatchRepository borrowingBatchRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @MockBean
     private BorrowingMapper mapper;
 
@@ -155,8 +167,7 @@ public class BorrowingServiceTests {
     void testCreateBorrowing() {
         // Arrange
         when(employeeRepository.findById(borrowing.getEmployee().getId())).thenReturn(Optional.of(employee));
-        when(deviceRepository.findById(1)).thenReturn(Optional.of(device1));
-        lenient().when(deviceRepository.findById(2)).thenReturn(Optional.of(device2));
+        when(deviceRepository.findAllById(any())).thenReturn(List.of(device1));
         when(borrowingRepository.save(any(Borrowing.class))).thenReturn(borrowing);
         when(mapper.borrowingToBorrowingResponse(any(Borrowing.class))).thenReturn(borrowingResponse);
 
@@ -172,10 +183,105 @@ public class BorrowingServiceTests {
         assertEquals(1, createdBorrowing.getEmployee().getId());
         assertEquals(LocalDateTime.now(fixedClock), createdBorrowing.getDateAudit().getCreatedAt());
         verify(employeeRepository, times(1)).findById(borrowing.getEmployee().getId());
-        verify(deviceRepository, times(1)).findById(anyInt());
+        verify(deviceRepository, times(1)).findAllById(any());
         verify(borrowingRepository, times(1)).save(any(Borrowing.class));
     }
 
+    @Test
+    void testCreateBorrowing_DevicesResolvedInOneQuery() {
+        borrowingRequest.setDevicesId(List.of(2, 1, 2));
+        when(employeeRepository.findById(borrowing.getEmployee().getId())).thenReturn(Optional.of(employee));
+        // The repository returns rows in its own order
+        when(deviceRepository.findAllById(any())).thenReturn(List.of(device1, device2));
+        when(borrowingRepository.save(any(Borrowing.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.borrowingToBorrowingResponse(any(Borrowing.class))).thenReturn(borrowingResponse);
+
+        borrowingService.createBorrowing(borrowingRequest);
+
+        verify(deviceRepository, times(1)).findAllById(argThat(ids -> {
+            List<Integer> requested = new ArrayList<>();
+            ids.forEach(requested::add);
+            return requested.equals(List.of(2, 1));
+        }));
+        verify(deviceRepository, never()).findById(anyInt());
+        verify(borrowingRepository).save(argThat(saved -> saved.getDevices().equals(List.of(device2, device1))));
+    }
+
+    @Test
+    void testCreateBorrowings_RejectsInvalidItemsAndInsertsTheRest() {
+        ReflectionTestUtils.setField(borrowingService, "bulkChunkSize", 500);
+        Employee employee2 = new Employee();
+        employee2.setId(2);
+        Employee employee3 = new Employee();
+        employee3.setId(3);
+        when(employeeRepository.findAllById(any())).thenReturn(List.of(employee, employee2, employee3));
+        when(deviceRepository.findAllById(any())).thenReturn(List.of(device1, device2));
+        when(borrowingBatchRepository.findBorrowedDeviceIds(any())).thenReturn(new HashSet<>());
+        when(borrowingBatchRepository.findEmployeesWithBorrowing(any())).thenReturn(new HashSet<>(Set.of(3)));
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(invocation -> {
+            List<Borrowing> inserted = invocation.getArgument(0);
+            for (int i = 0; i < inserted.size(); i++) {
+                inserted.get(i).setId(100 + i);
+            }
+            return null;
+        }).when(borrowingBatchRepository).insert(any());
+
+        List<BorrowingRequest> requests = Arrays.asList(
+                bulkRequest(1, List.of(1)),
+                null,
+                bulkRequest(2, List.of(1)),
+                bulkRequest(2, List.of(2, 9)),
+                bulkRequest(3, List.of(2)),
+                bulkRequest(2, List.of(2)));
+
+        BulkBorrowingResponse response = borrowingService.createBorrowings(requests.iterator());
+
+        assertEquals(2, response.getCreated());
+        assertEquals(4, response.getRejected());
+        List<BulkBorrowingItemResult> results = response.getResults();
+        assertEquals(new BulkBorrowingItemResult(0, BulkItemStatus.CREATED, 100, null), results.get(0));
+        assertEquals(BulkItemStatus.REJECTED, results.get(1).getStatus());
+        assertEquals("Devices with IDs [1] are already borrowed", results.get(2).getMessage());
+        assertEquals("Devices with IDs [9] not found", results.get(3).getMessage());
+        assertEquals("Employee with ID 3 already has a borrowing", results.get(4).getMessage());
+        assertEquals(new BulkBorrowingItemResult(5, BulkItemStatus.CREATED, 101, null), results.get(5));
+        verify(employeeRepository, times(1)).findAllById(any());
+        verify(deviceRepository, times(1)).findAllById(any());
+        verify(borrowingBatchRepository).insert(argThat(inserted -> inserted.size() == 2
+                && inserted.get(1).getDevices().equals(List.of(device2))));
+    }
+
+    @Test
+    void testCreateBorrowings_FailedChunkIsReported() {
+        ReflectionTestUtils.setField(borrowingService, "bulkChunkSize", 1);
+        when(employeeRepository.findAllById(any())).thenReturn(List.of(employee));
+        when(deviceRepository.findAllById(any())).thenReturn(List.of(device1, device2));
+        when(borrowingBatchRepository.findBorrowedDeviceIds(any())).thenAnswer(invocation -> new HashSet<>());
+        when(borrowingBatchRepository.findEmployeesWithBorrowing(any())).thenAnswer(invocation -> new HashSet<>());
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(transactionTemplate).executeWithoutResult(any());
+
+        BulkBorrowingResponse response = borrowingService.createBorrowings(List.of(
+                bulkRequest(1, List.of(1)),
+                bulkRequest(1, List.of(2))).iterator());
+
+        // Each chunk is looked up and inserted on its own
+        assertEquals(2, response.getFailed());
+        assertEquals(1, response.getResults().get(1).getIndex());
+        assertEquals("duplicate key", response.getResults().get(0).getMessage());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+    }
+
+    private BorrowingRequest bulkRequest(int employeeId, List<Integer> devicesId) {
+        BorrowingRequest request = new BorrowingRequest();
+        request.setEmployeeId(employeeId);
+        request.setDevicesId(devicesId);
+        return request;
+    }
+
     @Test
     void testGetBorrowingById() {
         // Arrange
@@ -198,7 +304,8 @@ public class BorrowingServiceTests {
         baseSearchRequest.setPageSize(10);
         // Arrange
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing, borrowing2));
-        when(borrowingRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(borrowingRepository.findIds(any(Pageable.class))).thenReturn(page.map(Borrowing::getId));
+        when(borrowingRepository.findAllWithAssociationsByIdIn(any())).thenReturn(page.getContent());
         Page<BorrowingResponse> pageResponse = new PageImpl<>(List.of(borrowingResponse, borrowingResponse2));
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(pageResponse);
 
@@ -208,7 +315,25 @@ public class BorrowingServiceTests {
         // Assert
         assertNotNull(foundBorrowings);
         assertEquals(1, foundBorrowings.getContent().get(0).getId());
-        verify(borrowingRepository, times(1)).findAll(any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIds(any(Pageable.class));
+    }
+
+    @Test
+    void testGetAllBorrowings_AssociationsLoadedForWholePage() {
+        BaseSearchRequest baseSearchRequest = new BaseSearchRequest();
+        baseSearchRequest.setPageNumber(0);
+        baseSearchRequest.setPageSize(10);
+        when(borrowingRepository.findIds(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(2, 1), PageRequest.of(0, 10), 12));
+        // The IN query returns rows in its own order
+        when(borrowingRepository.findAllWithAssociationsByIdIn(any())).thenReturn(List.of(borrowing, borrowing2));
+        when(mapper.borrowingPageToResponsePage(any())).thenReturn(new PageImpl<>(List.of(borrowingResponse2, borrowingResponse)));
+
+        borrowingService.getAllBorrowing(baseSearchRequest);
+
+        verify(borrowingRepository, times(1)).findAllWithAssociationsByIdIn(argThat(ids -> ids.containsAll(List.of(1, 2))));
+        verify(mapper).borrowingPageToResponsePage(argThat(page -> page.getContent().equals(List.of(borrowing2, borrowing))
+                && page.getTotalElements() == 12));
+        verify(borrowingRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -235,7 +360,8 @@ public class BorrowingServiceTests {
         baseSearchRequest.setSortDirection("ASC");
         Pageable pageable = PageRequest.of(0, 10, Sort.by("totalPrice").ascending());
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing2, borrowing));
-        when(borrowingRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(borrowingRepository.findIds(any(Pageable.class))).thenReturn(page.map(Borrowing::getId));
+        when(borrowingRepository.findAllWithAssociationsByIdIn(any())).thenReturn(page.getContent());
         Page<BorrowingResponse> pageResponse = new PageImpl<>(List.of(borrowingResponse2, borrowingResponse));
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(pageResponse);
 
@@ -247,7 +373,7 @@ public class BorrowingServiceTests {
         assertEquals(2, result.getTotalElements());
         assertEquals(120.0, result.getContent().get(0).getTotalPrice());
         assertEquals(290.0, result.getContent().get(1).getTotalPrice());
-        verify(borrowingRepository, times(1)).findAll(any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIds(any(Pageable.class));
     }
 
     @Test
@@ -260,7 +386,8 @@ public class BorrowingServiceTests {
         baseSearchRequest.setSortDirection("ASC");
         Pageable pageable = PageRequest.of(0, 10, Sort.by("dateAudit.handOverDate").ascending());
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing2, borrowing));
-        when(borrowingRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(borrowingRepository.findIds(any(Pageable.class))).thenReturn(page.map(Borrowing::getId));
+        when(borrowingRepository.findAllWithAssociationsByIdIn(any())).thenReturn(page.getContent());
         Page<BorrowingResponse> pageResponse = new PageImpl<>(List.of(borrowingResponse2, borrowingResponse));
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(pageResponse);
 
@@ -272,7 +399,7 @@ public class BorrowingServiceTests {
         assertEquals(2, result.getTotalElements());
         assertEquals(LocalDateTime.now(fixedClock).minusDays(1), result.getContent().get(0).getDateAudit().getHandOverDate());
         assertEquals(LocalDateTime.now(fixedClock), result.getContent().get(1).getDateAudit().getHandOverDate());
-        verify(borrowingRepository, times(1)).findAll(any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIds(any(Pageable.class));
     }
 
     @Test
@@ -286,7 +413,8 @@ public class BorrowingServiceTests {
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(pageResponse);
 
 
-        when(borrowingRepository.findByDeviceName(anyString(), any(Pageable.class))).thenReturn(page);
+        when(borrowingRepository.findIdsByDeviceName(anyString(), any(Pageable.class))).thenReturn(page.map(Borrowing::getId));
+        when(borrowingRepository.findAllWithAssociationsByIdIn(any())).thenReturn(page.getContent());
 
         // Act
         Page<BorrowingResponse> result = borrowingService.findByDeviceName("Item 1", baseSearchRequest);
@@ -294,7 +422,7 @@ public class BorrowingServiceTests {
         // Assert
         assertEquals(1, result.getTotalElements());
         assertEquals("Item 1", result.getContent().get(0).getDevices().get(0).getItemName());
-        verify(borrowingRepository, times(1)).findByDeviceName(anyString(), any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIdsByDeviceName(anyString(), any(Pageable.class));
     }
 
     @Test
@@ -308,7 +436,8 @@ public class BorrowingServiceTests {
         baseSearchRequest.setPageSize(10);
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing));
 
-        when(borrowingRepository.findByDateAudit_HandOverDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
+        when(borrowingRepository.findIdsByHandOverDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(page.map(Borrowing::getId));
+        when(borrowingRepository.findAllWithAssociationsByIdIn(any())).thenReturn(page.getContent());
         Page<BorrowingResponse> pageResponse = new PageImpl<>(List.of(borrowingResponse));
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(pageResponse);
 
@@ -318,7 +447,7 @@ public class BorrowingServiceTests {
         // Assert
         assertEquals(1, result.getTotalElements());
         assertEquals(handOverDate, result.getContent().get(0).getDateAudit().getHandOverDate());
-        verify(borrowingRepository, times(1)).findByDateAudit_HandOverDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIdsByHandOverDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
@@ -329,7 +458,8 @@ public class BorrowingServiceTests {
         baseSearchRequest.setPageSize(10);
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing));
 
-        when(borrowingRepository.findByDeviceType(any(Type.class), any(Pageable.class))).thenReturn(page);
+        when(borrowingRepository.findIdsByDeviceType(any(Type.class), any(Pageable.class))).thenReturn(page.map(Borrowing::getId));
+        when(borrowingRepository.findAllWithAssociationsByIdIn(any())).thenReturn(page.getContent());
         Page<BorrowingResponse> pageResponse = new PageImpl<>(List.of(borrowingResponse));
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(pageResponse);
 
@@ -339,7 +469,7 @@ public class BorrowingServiceTests {
         // Assert
         assertEquals(1, result.getTotalElements());
         assertEquals(Type.MOUSE, result.getContent().get(0).getDevices().get(0).getType());
-        verify(borrowingRepository, times(1)).findByDeviceType(any(Type.class), any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIdsByDeviceType(any(Type.class), any(Pageable.class));
     }
 
     @Test
@@ -350,7 +480,8 @@ public class BorrowingServiceTests {
         baseSearchRequest.setPageSize(10);
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing));
 
-        when(borrowingRepository.findByTotalPrice(anyDouble(), any(Pageable.class))).thenReturn(page);
+        when(borrowingRepository.findIdsByTotalPrice(anyDouble(), any(Pageable.class))).thenReturn(page.map(Borrowing::getId));
+        when(borrowingRepository.findAllWithAssociationsByIdIn(any())).thenReturn(page.getContent());
         Page<BorrowingResponse> pageResponse = new PageImpl<>(List.of(borrowingResponse));
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(pageResponse);
 
@@ -360,7 +491,7 @@ public class BorrowingServiceTests {
         // Assert
         assertEquals(1, result.getTotalElements());
         assertEquals(290.0, result.getContent().get(0).getTotalPrice());
-        verify(borrowingRepository, times(1)).findByTotalPrice(anyDouble(), any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIdsByTotalPrice(anyDouble(), any(Pageable.class));
     }
 
     @Test
@@ -405,8 +536,9 @@ public class BorrowingServiceTests {
     void testCreateBorrowing_NotFoundDevice() {
         // Arrange
         when(employeeRepository.findById(borrowing.getEmployee().getId())).thenReturn(Optional.of(employee));
-        when(deviceRepository.findById(1)).thenReturn(Optional.empty());
-        when(mapper.borrowingToBorrowingResponse(any(Borrowing.class))).thenReturn(null);
+        borrowingRequest.setDevicesId(List.of(1, 3, 4));
+        when(deviceRepository.findAllById(any())).thenReturn(List.of(device1));
+        lenient().when(mapper.borrowingToBorrowingResponse(any(Borrowing.class))).thenReturn(null);
 
         // Act
         DeviceNotFoundException deviceNotFoundException = assertThrows(DeviceNotFoundException.class, () -> {
@@ -414,8 +546,9 @@ public class BorrowingServiceTests {
         });
 
         // Assert
+        assertEquals("Devices with IDs [3, 4] not found", deviceNotFoundException.getMessage());
         verify(employeeRepository, times(1)).findById(borrowing.getEmployee().getId());
-        verify(deviceRepository, times(1)).findById(anyInt());
+        verify(deviceRepository, times(1)).findAllById(any());
     }
 
     @Test
@@ -440,7 +573,7 @@ public class BorrowingServiceTests {
         baseSearchRequest.setPageSize(10);
         // Arrange
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing, borrowing2));
-        when(borrowingRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(Collections.emptyList()));
+        when(borrowingRepository.findIds(any(Pageable.class))).thenReturn(new PageImpl<>(Collections.emptyList()));
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(new PageImpl<>(Collections.emptyList()));
 
         // Act
@@ -449,7 +582,7 @@ public class BorrowingServiceTests {
         // Assert
         assertNotNull(foundBorrowings);
         assertEquals(0, foundBorrowings.getTotalElements());
-        verify(borrowingRepository, times(1)).findAll(any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIds(any(Pageable.class));
     }
 
     @Test
@@ -475,7 +608,7 @@ public class BorrowingServiceTests {
         baseSearchRequest.setSortDirection("ASC");
         Pageable pageable = PageRequest.of(0, 10, Sort.by("totalPrice").ascending());
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing2, borrowing));
-        when(borrowingRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        when(borrowingRepository.findIds(any(Pageable.class))).thenReturn(Page.empty());
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(Page.empty());
 
         // Act
@@ -483,7 +616,7 @@ public class BorrowingServiceTests {
 
         // Assert
         assertEquals(0, result.getTotalElements());
-        verify(borrowingRepository, times(1)).findAll(any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIds(any(Pageable.class));
     }
 
     @Test
@@ -494,7 +627,7 @@ public class BorrowingServiceTests {
         baseSearchRequest.setPageSize(10);
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing));
 
-        when(borrowingRepository.findByDeviceName(anyString(), any(Pageable.class))).thenReturn(Page.empty());
+        when(borrowingRepository.findIdsByDeviceName(anyString(), any(Pageable.class))).thenReturn(Page.empty());
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(Page.empty());
 
         // Act
@@ -502,7 +635,7 @@ public class BorrowingServiceTests {
 
         // Assert
         assertNull(result);
-        verify(borrowingRepository, times(1)).findByDeviceName(anyString(), any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIdsByDeviceName(anyString(), any(Pageable.class));
     }
 
     @Test
@@ -516,7 +649,7 @@ public class BorrowingServiceTests {
         baseSearchRequest.setPageSize(10);
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing));
 
-        when(borrowingRepository.findByDateAudit_HandOverDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(Page.empty());
+        when(borrowingRepository.findIdsByHandOverDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(Page.empty());
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(Page.empty());
 
         // Act
@@ -524,7 +657,7 @@ public class BorrowingServiceTests {
 
         // Assert
         assertNull(result);
-        verify(borrowingRepository, times(1)).findByDateAudit_HandOverDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIdsByHandOverDateBetween(any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
@@ -535,7 +668,7 @@ public class BorrowingServiceTests {
         baseSearchRequest.setPageSize(10);
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing));
 
-        when(borrowingRepository.findByDeviceType(any(Type.class), any(Pageable.class))).thenReturn(Page.empty());
+        when(borrowingRepository.findIdsByDeviceType(any(Type.class), any(Pageable.class))).thenReturn(Page.empty());
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(Page.empty());
 
         // Act
@@ -543,7 +676,7 @@ public class BorrowingServiceTests {
 
         // Assert
         assertNull(null);
-        verify(borrowingRepository, times(1)).findByDeviceType(any(Type.class), any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIdsByDeviceType(any(Type.class), any(Pageable.class));
     }
 
     @Test
@@ -554,7 +687,7 @@ public class BorrowingServiceTests {
         baseSearchRequest.setPageSize(10);
         Page<Borrowing> page = new PageImpl<>(List.of(borrowing));
 
-        when(borrowingRepository.findByTotalPrice(anyDouble(), any(Pageable.class))).thenReturn(Page.empty());
+        when(borrowingRepository.findIdsByTotalPrice(anyDouble(), any(Pageable.class))).thenReturn(Page.empty());
         when(mapper.borrowingPageToResponsePage(any())).thenReturn(Page.empty());
 
         // Act
@@ -562,7 +695,7 @@ public class BorrowingServiceTests {
 
         // Assert
         assertNull(result);
-        verify(borrowingRepository, times(1)).findByTotalPrice(anyDouble(), any(Pageable.class));
+        verify(borrowingRepository, times(1)).findIdsByTotalPrice(anyDouble(), any(Pageable.class));
     }
 
     @Test
@@ -0,0 +1,97 @@
+package com.example.spring_study.services;
+
+import com.example.spring_study.BenchmarkSupport;
+import com.example.spring_study.constant.RateType;
+import com.example.spring_study.constant.Type;
+import com.example.spring_study.model.Device;
+import com.example.spring_study.repository.DeviceRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code saveAll} for a batch of new devices with the ids Hibernate used to take from an
+ * identity column (one insert and key round trip per row) and with the pooled sequence, where the
+ * inserts go out in JDBC batches. Both run through the application's repository and batch settings;
+ * the identity run maps Device back with benchmark/device-identity-orm.xml. Run through
+ * {@link DeviceInsertBenchmarkTests}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DeviceInsertBenchmark {
+    private static final String BRANCH = "DeviceInsertBenchmark";
+
+    @Param({"identity", "sequence"})
+    public String mapping;
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private DeviceRepository deviceRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private List<Device> devices;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = "identity".equals(mapping)
+                ? BenchmarkSupport.startApplication("spring.jpa.mapping-resources=benchmark/device-identity-orm.xml")
+                : BenchmarkSupport.startApplication();
+        deviceRepository = context.getBean(DeviceRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        deleteDevices();
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareDevices() {
+        devices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            devices.add(new Device(Type.MOUSE, 10.0, RateType.NEW, BRANCH, "Device " + i, "1.0", 20.0));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkAndDeleteDevices() {
+        Long written = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM device WHERE branch_name = ?", Long.class, BRANCH);
+        if (written == null || written != size) {
+            throw new IllegalStateException("Expected " + size + " devices, found " + written);
+        }
+        deleteDevices();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Device> saveAll() {
+        return transactionTemplate.execute(status -> deviceRepository.saveAll(devices));
+    }
+
+    private void deleteDevices() {
+        jdbcTemplate.update("DELETE FROM device WHERE branch_name = ?", BRANCH);
+    }
+}
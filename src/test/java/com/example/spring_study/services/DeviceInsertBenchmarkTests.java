@@ -0,0 +1,18 @@
+package com.example.spring_study.services;
+
+import com.example.spring_study.BenchmarkSupport;
+import com.example.spring_study.EnabledIfBenchmark;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Runs {@link DeviceInsertBenchmark} against a scratch database; run with
+ * {@code mvn test -Dtest=DeviceInsertBenchmarkTests -Dbenchmark=true -Dbenchmark.datasource.url=jdbc:postgresql://localhost:5432/scratch}.
+ */
+@EnabledIfBenchmark
+public class DeviceInsertBenchmarkTests {
+    @Test
+    void runBenchmark() throws RunnerException {
+        BenchmarkSupport.run(DeviceInsertBenchmark.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.spring_study.services;
+
+import com.example.spring_study.BenchmarkSupport;
+import com.example.spring_study.constant.RateType;
+import com.example.spring_study.constant.Type;
+import com.example.spring_study.model.Device;
+import com.example.spring_study.repository.DeviceRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the devices of a borrowing one id at a time against a single IN query. Each call runs
+ * in its own transaction, as it does inside the service, so nothing is served from a persistence
+ * context left over from the previous call. Run through {@link DeviceResolutionBenchmarkTests}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DeviceResolutionBenchmark {
+    private static final String BRANCH = "DeviceResolutionBenchmark";
+
+    @Param({"10", "50", "200", "500"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private DeviceRepository deviceRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private List<Integer> ids;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startApplication();
+        deviceRepository = context.getBean(DeviceRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        deleteDevices();
+
+        List<Device> devices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            devices.add(new Device(Type.MOUSE, 10.0, RateType.NEW, BRANCH, "Device " + i, "1.0", 20.0));
+        }
+        ids = deviceRepository.saveAll(devices).stream().map(Device::getId).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        deleteDevices();
+        context.close();
+    }
+
+    @Benchmark
+    public List<Device> findByIdLoop() {
+        return resolved(transactionTemplate.execute(status -> {
+            List<Device> found = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                found.add(deviceRepository.findById(id).orElseThrow());
+            }
+            return found;
+        }));
+    }
+
+    @Benchmark
+    public List<Device> findAllById() {
+        return resolved(transactionTemplate.execute(status -> deviceRepository.findAllById(ids)));
+    }
+
+    private List<Device> resolved(List<Device> found) {
+        if (found == null || found.size() != ids.size()) {
+            throw new IllegalStateException("Expected " + ids.size() + " devices, found " + (found == null ? null : found.size()));
+        }
+        return found;
+    }
+
+    private void deleteDevices() {
+        jdbcTemplate.update("DELETE FROM device WHERE branch_name = ?", BRANCH);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.spring_study.services;
+
+import com.example.spring_study.BenchmarkSupport;
+import com.example.spring_study.EnabledIfBenchmark;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Runs {@link DeviceResolutionBenchmark} against a scratch database; run with
+ * {@code mvn test -Dtest=DeviceResolutionBenchmarkTests -Dbenchmark=true -Dbenchmark.datasource.url=jdbc:postgresql://localhost:5432/scratch}.
+ */
+@EnabledIfBenchmark
+public class DeviceResolutionBenchmarkTests {
+    @Test
+    void runBenchmark() throws RunnerException {
+        BenchmarkSupport.run(DeviceResolutionBenchmark.class);
+    }
+}
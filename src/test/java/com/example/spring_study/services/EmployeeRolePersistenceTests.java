@@ -0,0 +1,97 @@
+package com.example.spring_study.services;
+
+import com.example.spring_study.BenchmarkSupport;
+import com.example.spring_study.EnabledIfBenchmark;
+import com.example.spring_study.config.RoleRegistry;
+import com.example.spring_study.model.Employee;
+import com.example.spring_study.model.Role;
+import com.example.spring_study.model.payload.EmployeeRequest;
+import com.example.spring_study.model.payload.EmployeeResponse;
+import com.example.spring_study.repository.EmployeeRepository;
+import com.example.spring_study.repository.RoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saves employees with roles taken from {@link RoleRegistry}, outside any transaction, the way the
+ * service runs when open-in-view does not apply. It writes and deletes rows, so point it at a
+ * scratch database, never the development one:
+ * {@code mvn test -Dtest=EmployeeRolePersistenceTests -Dbenchmark=true -Dbenchmark.datasource.url=jdbc:postgresql://localhost:5432/scratch}.
+ */
+@SpringBootTest
+@EnabledIfBenchmark
+public class EmployeeRolePersistenceTests {
+    // Unique per run so the seeded rows never collide with what the database already holds
+    private static final String RUN = Long.toString(System.nanoTime(), 36);
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    private Role first;
+    private Role second;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        BenchmarkSupport.registerDatasource(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        first = roleRepository.save(new Role(0, "ROLE_FIRST_" + RUN));
+        second = roleRepository.save(new Role(0, "ROLE_SECOND_" + RUN));
+        roleRegistry.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.findByUserName("roles-" + RUN).ifPresent(employeeRepository::delete);
+        roleRepository.deleteAll(Set.of(first, second));
+        roleRegistry.refresh();
+    }
+
+    @Test
+    void testCreateAndUpdateEmployeeWithResolvedRoles() {
+        EmployeeResponse created = employeeService.createEmployee(request(first.getName()));
+
+        assertNotNull(created);
+        assertEquals(Set.of(first.getName()), roleNames(created.getId()));
+
+        employeeService.updateEmployee(created.getId(), request(second.getName()));
+        assertEquals(Set.of(second.getName()), roleNames(created.getId()));
+        // Roles are reference data; saving an employee never writes them
+        assertEquals(first.getName(), roleRepository.findById(first.getId()).orElseThrow().getName());
+    }
+
+    private EmployeeRequest request(String role) {
+        EmployeeRequest request = new EmployeeRequest();
+        request.setUserName("roles-" + RUN);
+        request.setPassword("password");
+        request.setFullName("Role Persistence");
+        request.setAddress("Address");
+        request.setPhoneNumber("0912345678");
+        request.setAccountBalance(0.0);
+        request.setRoles(Set.of(role));
+        return request;
+    }
+
+    private Set<String> roleNames(int id) {
+        Employee employee = employeeRepository.findById(id).orElseThrow();
+        return employee.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.spring_study.services;
 
+import com.example.spring_study.config.BasicCredentialCache;
+import com.example.spring_study.config.BoundedPasswordEncoder;
+import com.example.spring_study.config.RoleRegistry;
+import com.example.spring_study.config.TokenVersionRegistry;
+import com.example.spring_study.config.UserDetailsCache;
 import com.example.spring_study.exception.EmployeeNotFoundException;
+import com.example.spring_study.exception.PasswordHashingRejectedException;
 import com.example.spring_study.mapping.EmployeeMapper;
 import com.example.spring_study.model.Employee;
 import com.example.spring_study.model.Role;
@@ -8,7 +14,6 @@ import com.example.spring_study.model.payload.EmployeeRequest;
 import com.example.spring_study.model.payload.EmployeeResponse;
 import com.example.spring_study.model.payload.EmployeeResponseUpdate;
 import com.example.spring_study.repository.EmployeeRepository;
-import com.example.spring_study.repository.RoleRepository;
 import com.example.spring_study.services.impl.EmployeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,7 +23,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,13 +38,19 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
     @Mock
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+    @Mock
+    private BasicCredentialCache basicCredentialCache;
     @InjectMocks
     private EmployeeServiceImpl employeeService;
     @MockBean
     private EmployeeMapper mapper;
     @MockBean
-    private PasswordEncoder passwordEncoder;
+    private BoundedPasswordEncoder passwordEncoder;
 
     private String password;
     private Set<Role> roles;
@@ -85,7 +95,7 @@ public class EmployeeServiceTests {
     @Test
     void testCreateEmployee() {
         when(employeeRepository.save(any())).thenReturn(employee);
-        when(roleRepository.findByNameIn(any())).thenReturn(roles);
+        when(roleRegistry.resolve(any())).thenReturn(roles);
         when(passwordEncoder.encode(anyString())).thenReturn(password);
         when(mapper.toResponse(any())).thenReturn(employeeResponse);
 
@@ -94,7 +104,7 @@ public class EmployeeServiceTests {
         assertEquals(1, result.getId());
         assertEquals("0123456789", result.getPhoneNumber());
         verify(employeeRepository, times(1)).save(any());
-        verify(roleRepository, times(1)).findByNameIn(any());
+        verify(roleRegistry, times(1)).resolve(any());
         verify(passwordEncoder, times(1)).encode(anyString());
         verify(mapper, times(1)).toResponse(any());
     }
@@ -128,11 +138,15 @@ public class EmployeeServiceTests {
 
     @Test
     void testDeleteEmployee() {
+        when(employeeRepository.findById(anyInt())).thenReturn(Optional.of(employee));
         doNothing().when(employeeRepository).deleteById(anyInt());
 
         employeeService.deleteEmployee(1);
 
         verify(employeeRepository, times(1)).deleteById(anyInt());
+        verify(userDetailsCache, times(1)).invalidate("John");
+        verify(basicCredentialCache, times(1)).invalidate("John");
+        verify(tokenVersionRegistry, times(1)).remove("John");
     }
 
     @Test
@@ -156,7 +170,7 @@ public class EmployeeServiceTests {
 
         when(employeeRepository.findById(anyInt())).thenReturn(Optional.of(employee));
         when(employeeRepository.save(any())).thenReturn(updatedEmployee);
-        when(roleRepository.findByNameIn(any())).thenReturn(roles);
+        when(roleRegistry.resolve(any())).thenReturn(roles);
         when(passwordEncoder.encode(anyString())).thenReturn(password);
         when(mapper.toResponse(any())).thenReturn(updateResponse);
 
@@ -167,9 +181,12 @@ public class EmployeeServiceTests {
         assertEquals("0123456789", updatedEmployee.getPhoneNumber());
         assertEquals("Name 2", updatedEmployee.getFullName());
         verify(employeeRepository, times(1)).save(any());
-        verify(roleRepository, times(1)).findByNameIn(any());
+        verify(roleRegistry, times(1)).resolve(any());
         verify(passwordEncoder, times(1)).encode(anyString());
         verify(mapper, times(1)).toResponse(any());
+        verify(userDetailsCache, atLeastOnce()).invalidate("John");
+        verify(basicCredentialCache, times(1)).invalidate("John");
+        verify(tokenVersionRegistry, times(1)).put("John", 1);
     }
 
     @Test
@@ -182,6 +199,29 @@ public class EmployeeServiceTests {
         verify(employeeRepository, times(1)).save(any());
     }
 
+    @Test
+    void testCreateEmployee_PasswordHashingRejected() {
+        when(passwordEncoder.encode(anyString())).thenThrow(new PasswordHashingRejectedException(1));
+
+        PasswordHashingRejectedException result = assertThrows(PasswordHashingRejectedException.class,
+                () -> employeeService.createEmployee(employeeRequest));
+
+        assertEquals(1, result.getRetryAfterSeconds());
+        verify(employeeRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateEmployee_PasswordHashingRejected() {
+        when(employeeRepository.findById(anyInt())).thenReturn(Optional.of(employee));
+        when(roleRegistry.resolve(any())).thenReturn(roles);
+        when(passwordEncoder.encode(anyString())).thenThrow(new PasswordHashingRejectedException(1));
+
+        assertThrows(PasswordHashingRejectedException.class, () -> employeeService.updateEmployee(1, employeeRequest));
+
+        verify(employeeRepository, never()).save(any());
+        verify(userDetailsCache, never()).invalidate(any());
+    }
+
     @Test
     void testGetEmployeeById_NotFound() {
         when(employeeRepository.findById(anyInt())).thenReturn(Optional.empty());
@@ -218,5 +258,6 @@ public class EmployeeServiceTests {
         });
 
         verify(employeeRepository, times(1)).findById(anyInt());
+        verify(userDetailsCache, never()).invalidate(any());
     }
 }